@@ -7,11 +7,21 @@ import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 public class AbstractArray implements AbstractElement, Iterable<AbstractElement> {
 
-    private final List<AbstractElement> elements;
+    private final ElementList elements;
+
+    protected void materialize() {
+    }
+
+    ElementList elements() {
+        materialize();
+        return elements;
+    }
 
     public boolean isArray() {
         return true;
@@ -25,8 +35,8 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
         if(strict)
             throw new AbstractCoercingException(Type.OBJECT, Type.ARRAY);
         AbstractObject object = new AbstractObject();
-        for(int i=0; i< elements.size(); i++)
-            object.set(String.valueOf(i), elements.get(i));
+        for(int i=0; i<size(); i++)
+            object.set(String.valueOf(i), get(i));
         return object;
     }
 
@@ -67,15 +77,15 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
     }
 
     public String string(String key, String orElse) throws AbstractCoercingException {
-        return query(key, new AbstractPrimitive(orElse)).string();
+        return query(key, AbstractPrimitive.valueOf(orElse)).string();
     }
 
     public Boolean bool(String key, Boolean orElse) throws AbstractCoercingException {
-        return query(key, new AbstractPrimitive(orElse)).bool();
+        return query(key, AbstractPrimitive.valueOf(orElse)).bool();
     }
 
     public Number number(String key, Number orElse) throws AbstractCoercingException {
-        return query(key, new AbstractPrimitive(orElse)).number();
+        return query(key, AbstractPrimitive.valueOf(orElse)).number();
     }
 
     public AbstractObject object(int index) throws AbstractCoercingException {
@@ -115,26 +125,26 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
     }
 
     public String string(int index, String orElse) throws AbstractCoercingException {
-        return get(index, new AbstractPrimitive(orElse)).string();
+        return get(index, AbstractPrimitive.valueOf(orElse)).string();
     }
 
     public Boolean bool(int index, Boolean orElse) throws AbstractCoercingException {
-        return get(index, new AbstractPrimitive(orElse)).bool();
+        return get(index, AbstractPrimitive.valueOf(orElse)).bool();
     }
 
     public Number number(int index, Number orElse) throws AbstractCoercingException {
-        return get(index, new AbstractPrimitive(orElse)).number();
+        return get(index, AbstractPrimitive.valueOf(orElse)).number();
     }
 
     public AbstractArray add(AbstractElement element) {
         if (element == null)
             element = AbstractNull.VALUE;
-        elements.add(element);
+        elements().add(element);
         return this;
     }
 
     public AbstractArray() {
-        elements = new ArrayList<>();
+        elements = new ElementList();
     }
 
     public AbstractArray(Object[] objects) {
@@ -155,22 +165,42 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
         return add(AbstractNull.VALUE);
     }
 
+    public AbstractArray add(int value) {
+        elements().addNumber(AbstractPrimitive.INT, value);
+        return this;
+    }
+
+    public AbstractArray add(long value) {
+        elements().addNumber(AbstractPrimitive.LONG, value);
+        return this;
+    }
+
+    public AbstractArray add(double value) {
+        elements().addNumber(AbstractPrimitive.DOUBLE, Double.doubleToLongBits(value));
+        return this;
+    }
+
+    public AbstractArray add(boolean value) {
+        elements().addBoolean(value);
+        return this;
+    }
+
     public AbstractArray add(Number value) {
         if (value == null)
             return addNull();
-        return add(new AbstractPrimitive(value));
+        return add(AbstractPrimitive.valueOf(value));
     }
 
     public AbstractArray add(Boolean value) {
         if (value == null)
             return addNull();
-        return add(new AbstractPrimitive(value));
+        return add(AbstractPrimitive.valueOf(value));
     }
 
     public AbstractArray add(String value) {
         if (value == null)
             return addNull();
-        return add(new AbstractPrimitive(value));
+        return add(AbstractPrimitive.valueOf(value));
     }
 
     public AbstractArray setNull(int i) {
@@ -180,41 +210,41 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
     public AbstractArray set(int i, AbstractElement element) {
         if (element == null)
             return setNull(i);
-        while (elements.size() <= i)
+        while (elements().size() <= i)
             addNull();
-        elements.set(i, element);
+        elements().set(i, element);
         return this;
     }
 
     public AbstractArray set(int i, Number value) {
         if (value == null)
             return setNull(i);
-        return set(i, new AbstractPrimitive(value));
+        return set(i, AbstractPrimitive.valueOf(value));
     }
 
     public AbstractArray set(int i, Boolean value) {
         if (value == null)
             return setNull(i);
-        return set(i, new AbstractPrimitive(value));
+        return set(i, AbstractPrimitive.valueOf(value));
     }
 
     public AbstractArray set(int i, String value) {
         if (value == null)
             return setNull(i);
-        return set(i, new AbstractPrimitive(value));
+        return set(i, AbstractPrimitive.valueOf(value));
     }
 
     public AbstractArray remove(int i) {
-        elements.remove(i);
+        elements().remove(i);
         return this;
     }
 
     public AbstractElement[] toArray() {
-        return elements.toArray(new AbstractElement[0]);
+        return elements().toArray(new AbstractElement[0]);
     }
 
     public AbstractElement get(int i) {
-        return elements.get(i);
+        return elements().get(i);
     }
 
     public AbstractElement get(int index, AbstractElement orElse) {
@@ -223,20 +253,15 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
     }
 
     public AbstractElement query(String query) {
-        String[] q = query.split("\\.", 2);
-        try {
-            int index = Integer.parseInt(q[0]);
-            AbstractElement e = get(index);
-            if(e == null || q.length == 1)
-                return e;
-            if(e.isObject())
-                return e.object().query(q[1]);
-            if(e.isArray())
-                return e.array().query(q[1]);
-            return null;
-        } catch (NumberFormatException nfe) {
-            return null;
+        if(query.indexOf('.') == -1) {
+            long index = AbstractPath.parseIndex(query);
+            return AbstractPath.isIndex(index) ? get((int) index) : null;
         }
+        return query(AbstractPath.of(query));
+    }
+
+    public AbstractElement query(AbstractPath path) {
+        return path.query(this);
     }
 
     public AbstractElement query(String query, AbstractElement orElse) {
@@ -244,16 +269,21 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
         return (value != null && !value.isNull()) ? value : orElse;
     }
 
+    public AbstractElement query(AbstractPath path, AbstractElement orElse) {
+        AbstractElement value = query(path);
+        return (value != null && !value.isNull()) ? value : orElse;
+    }
+
     public Stream<AbstractElement> stream() {
-        return elements.stream();
+        return elements().stream();
     }
 
     public int size() {
-        return elements.size();
+        return elements().size();
     }
 
     public boolean contains(Object o) {
-        for (AbstractElement element : elements) {
+        for (AbstractElement element : elements()) {
             if (o instanceof AbstractElement ? ((AbstractElement) o).toObject().equals(element.toObject()) : element.toObject().equals(o))
                 return true;
         }
@@ -261,27 +291,43 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
     }
 
     public AbstractArray clear() {
-        elements.clear();
+        elements().clear();
         return this;
     }
 
     public Iterator<AbstractElement> iterator() {
-        return elements.iterator();
+        return elements().iterator();
     }
 
     public Object toObject() {
         List<Object> list = new ArrayList<>();
-        elements.forEach(e -> list.add(e.toObject()));
+        elements().forEach(e -> list.add(e.toObject()));
         return list;
     }
 
+    public long[] toLongArray() {
+        return elements().toLongArray();
+    }
+
+    public double[] toDoubleArray() {
+        return elements().toDoubleArray();
+    }
+
+    public LongStream longStream() {
+        return Arrays.stream(toLongArray());
+    }
+
+    public DoubleStream doubleStream() {
+        return Arrays.stream(toDoubleArray());
+    }
+
     public List<String> toStringList() {
         return toStringList(false);
     }
 
     public List<String> toStringList(boolean strict) {
         List<String> list = new ArrayList<>();
-        for(AbstractElement e : elements)
+        for(AbstractElement e : elements())
             list.add(e.string(strict));
         return list;
     }
@@ -292,7 +338,7 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
 
     public List<AbstractObject> toObjectList(boolean strict) {
         List<AbstractObject> list = new ArrayList<>();
-        for(AbstractElement e : elements)
+        for(AbstractElement e : elements())
             list.add(e.object(strict));
         return list;
     }
@@ -317,7 +363,7 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
     }
 
     public Map<String[], Object> toTree() {
-        return object().toTree();
+        return Traversal.toTree(this);
     }
 
     public Map<String, Object> toTree(String keySeparator) {
@@ -330,9 +376,32 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
     }
 
     public AbstractElement clone() {
-        AbstractArray array = new AbstractArray();
-        forEach(e -> array.add(e.clone()));
-        return array;
+        return Traversal.copy(this);
+    }
+
+    public AbstractArray freeze() {
+        return (AbstractArray) Traversal.freeze(this);
+    }
+
+    public boolean isFrozen() {
+        return elements().isFrozen();
+    }
+
+    public AbstractArray with(int i, AbstractElement element) {
+        AbstractArray copy = new AbstractArray();
+        copy.elements.setFrozen(freeze().elements(), i, element == null ? AbstractNull.VALUE : element.freeze());
+        return copy;
+    }
+
+    public AbstractArray withAdded(AbstractElement element) {
+        AbstractArray source = freeze();
+        return with(source.size(), element);
+    }
+
+    public AbstractArray without(int i) {
+        AbstractArray copy = new AbstractArray();
+        copy.elements.removeFrozen(freeze().elements(), i);
+        return copy;
     }
 
     public static <T> Collector<T, ?, AbstractArray> collect(Function<T, AbstractElement> mappingFunction) {
@@ -344,25 +413,7 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
     }
 
     public boolean equals(Object obj, boolean strict) {
-        if (obj == null)
-            return false;
-        if (!(obj instanceof AbstractElement))
-            return false;
-        try {
-            AbstractArray arr = ((AbstractElement) obj).array(strict);
-            if (size() != arr.size())
-                return false;
-            if (size() == 0 || arr.size() == 0)
-                return false;
-
-            for (int i = 0; i < size(); i++) {
-                if (!(get(i).equals(arr.get(i), strict)))
-                    return false;
-            }
-            return true;
-        } catch (AbstractCoercingException ignored) {
-            return false;
-        }
+        return Traversal.equals(this, obj, strict);
     }
 
     public boolean equals (Object obj) {
@@ -370,7 +421,7 @@ public class AbstractArray implements AbstractElement, Iterable<AbstractElement>
     }
 
     public AbstractArray addAll(AbstractArray array) {
-        elements.addAll(array.elements);
+        elements().addAll(array.elements());
         return this;
     }
 
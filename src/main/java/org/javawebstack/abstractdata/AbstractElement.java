@@ -10,6 +10,10 @@ import org.javawebstack.abstractdata.util.QueryString;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.HashMap;
 import java.util.List;
@@ -107,6 +111,22 @@ public interface AbstractElement {
         return toJsonString(false);
     }
 
+    default byte[] toJsonBytes(boolean pretty) {
+        return new JsonDumper().setPretty(pretty).dumpBytes(this);
+    }
+
+    default byte[] toJsonBytes() {
+        return toJsonBytes(false);
+    }
+
+    default void writeJson(OutputStream stream, boolean pretty) throws IOException {
+        new JsonDumper().setPretty(pretty).dump(this, stream);
+    }
+
+    default void writeJson(OutputStream stream) throws IOException {
+        writeJson(stream, false);
+    }
+
     Object toObject();
 
     default String toYaml(boolean pretty) {
@@ -160,11 +180,11 @@ public interface AbstractElement {
             return graphObject;
         }
         if (object instanceof Number)
-            return new AbstractPrimitive((Number) object);
+            return AbstractPrimitive.valueOf((Number) object);
         if (object instanceof String)
-            return new AbstractPrimitive((String) object);
+            return AbstractPrimitive.valueOf((String) object);
         if (object instanceof Boolean)
-            return new AbstractPrimitive((Boolean) object);
+            return AbstractPrimitive.valueOf((Boolean) object);
         return AbstractNull.VALUE;
     }
 
@@ -190,6 +210,14 @@ public interface AbstractElement {
 
     AbstractElement clone();
 
+    default AbstractElement freeze() {
+        return this;
+    }
+
+    default boolean isFrozen() {
+        return true;
+    }
+
     Map<String[], Object> toTree();
 
     static AbstractElement fromJson(String json) {
@@ -200,6 +228,24 @@ public interface AbstractElement {
         }
     }
 
+    static AbstractElement fromJson(byte[] json) {
+        try {
+            return new JsonParser().parse(json);
+        } catch (ParseException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static AbstractElement fromJsonFile(Path path) {
+        try {
+            return new JsonParser().parse(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     static AbstractElement fromTree(Map<String[], Object> tree) {
         AbstractObject object = new AbstractObject();
         for (String[] key : tree.keySet()) {
@@ -5,7 +5,6 @@ import org.javawebstack.abstractdata.exception.AbstractCoercingException;
 
 import java.lang.reflect.Field;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -16,10 +15,18 @@ import java.util.stream.Stream;
 
 public class AbstractObject implements AbstractElement {
 
-    private final Map<String, AbstractElement> entries = new LinkedHashMap<>();
+    private final CompactMap entries = new CompactMap();
+
+    protected void materialize() {
+    }
+
+    CompactMap map() {
+        materialize();
+        return entries;
+    }
 
     public Set<Map.Entry<String, AbstractElement>> entries() {
-        return entries.entrySet();
+        return map().entrySet();
     }
 
     public AbstractObject setNull(String key) {
@@ -30,35 +37,35 @@ public class AbstractObject implements AbstractElement {
     public AbstractObject set(String key, AbstractElement value) {
         if (value == null)
             value = AbstractNull.VALUE;
-        entries.put(key, value);
+        map().put(key, value);
         return this;
     }
 
     public AbstractObject set(String key, Number value) {
         if (value == null)
             return setNull(key);
-        return set(key, new AbstractPrimitive(value));
+        return set(key, AbstractPrimitive.valueOf(value));
     }
 
     public AbstractObject set(String key, Boolean value) {
         if (value == null)
             return setNull(key);
-        return set(key, new AbstractPrimitive(value));
+        return set(key, AbstractPrimitive.valueOf(value));
     }
 
     public AbstractObject set(String key, String value) {
         if (value == null)
             return setNull(key);
-        return set(key, new AbstractPrimitive(value));
+        return set(key, AbstractPrimitive.valueOf(value));
     }
 
     public AbstractObject remove(String key) {
-        entries.remove(key);
+        map().remove(key);
         return this;
     }
 
     public AbstractObject clear() {
-        entries.clear();
+        map().clear();
         return this;
     }
 
@@ -83,7 +90,7 @@ public class AbstractObject implements AbstractElement {
     }
 
     public AbstractElement get(String key) {
-        return entries.get(key);
+        return map().get(key);
     }
 
     public AbstractElement get(String key, AbstractElement orElse) {
@@ -92,26 +99,31 @@ public class AbstractObject implements AbstractElement {
     }
 
     public AbstractElement query(String query) {
-        String[] q = query.split("\\.", 2);
-        AbstractElement e = get(q[0]);
-        if(e == null || q.length == 1)
-            return e;
-        if(e.isObject())
-            return e.object().query(q[1]);
-        if(e.isArray())
-            return e.array().query(q[1]);
-        return null;
+        if(query.indexOf('.') == -1)
+            return get(query);
+        return query(AbstractPath.of(query));
+    }
+
+    public AbstractElement query(AbstractPath path) {
+        return path.query(this);
     }
 
     public AbstractElement query(String query, AbstractElement orElse) {
+        return orElse(query(query), orElse);
+    }
+
+    public AbstractElement query(AbstractPath path, AbstractElement orElse) {
+        return orElse(query(path), orElse);
+    }
+
+    private static AbstractElement orElse(AbstractElement value, AbstractElement orElse) {
         if(orElse == null)
             orElse = AbstractNull.VALUE;
-        AbstractElement value = query(query);
         return (value != null && !value.isNull()) ? value : orElse;
     }
 
     public boolean has(String key) {
-        return entries.containsKey(key);
+        return map().containsKey(key);
     }
 
     public boolean hasString(String key) {
@@ -139,7 +151,7 @@ public class AbstractObject implements AbstractElement {
     }
 
     public int size() {
-        return entries.size();
+        return map().size();
     }
 
     public AbstractObject object(String key) throws AbstractCoercingException {
@@ -171,7 +183,7 @@ public class AbstractObject implements AbstractElement {
     }
 
     public String string(String key, String orElse) throws AbstractCoercingException {
-        return query(key, orElse == null ? AbstractNull.VALUE : new AbstractPrimitive(orElse)).string();
+        return query(key, orElse == null ? AbstractNull.VALUE : AbstractPrimitive.valueOf(orElse)).string();
     }
 
     public Boolean bool(String key) throws AbstractCoercingException {
@@ -179,7 +191,7 @@ public class AbstractObject implements AbstractElement {
     }
 
     public Boolean bool(String key, Boolean orElse) throws AbstractCoercingException {
-        return query(key, orElse == null ? AbstractNull.VALUE : new AbstractPrimitive(orElse)).bool();
+        return query(key, orElse == null ? AbstractNull.VALUE : AbstractPrimitive.valueOf(orElse)).bool();
     }
 
     public Number number(String key) throws AbstractCoercingException {
@@ -187,7 +199,7 @@ public class AbstractObject implements AbstractElement {
     }
 
     public Number number(String key, Number orElse) throws AbstractCoercingException {
-        return query(key, orElse == null ? AbstractNull.VALUE : new AbstractPrimitive(orElse)).number();
+        return query(key, orElse == null ? AbstractNull.VALUE : AbstractPrimitive.valueOf(orElse)).number();
     }
 
     public Object toObject() {
@@ -201,7 +213,7 @@ public class AbstractObject implements AbstractElement {
     }
 
     public AbstractObject forEach(BiConsumer<String, AbstractElement> biConsumer) {
-        entries.forEach(biConsumer);
+        map().forEach(biConsumer);
         return this;
     }
 
@@ -224,14 +236,7 @@ public class AbstractObject implements AbstractElement {
     }
 
     public Map<String[], Object> toTree() {
-        Map<String[], Object> tree = new HashMap<>();
-        forEach((key, value) -> value.toTree().forEach((keys, v) -> {
-            String[] k = new String[keys.length + 1];
-            k[0] = key;
-            System.arraycopy(keys, 0, k, 1, keys.length);
-            tree.put(k, v);
-        }));
-        return tree;
+        return Traversal.toTree(this);
     }
 
     public Map<String, Object> toTree(String keySeparator) {
@@ -246,11 +251,11 @@ public class AbstractObject implements AbstractElement {
     }
 
     public Set<String> keys() {
-        return entries.keySet();
+        return map().keySet();
     }
 
     public AbstractArray values() {
-        return AbstractArray.fromList(entries.values());
+        return AbstractArray.fromList(map().values());
     }
 
     public Stream<Map.Entry<String, AbstractElement>> stream() {
@@ -258,9 +263,30 @@ public class AbstractObject implements AbstractElement {
     }
 
     public AbstractElement clone() {
-        AbstractObject object = new AbstractObject();
-        forEach((k, v) -> object.set(k, v.clone()));
-        return object;
+        return Traversal.copy(this);
+    }
+
+    public AbstractObject freeze() {
+        return (AbstractObject) Traversal.freeze(this);
+    }
+
+    public boolean isFrozen() {
+        return map().isFrozen();
+    }
+
+    public AbstractObject with(String key, AbstractElement value) {
+        AbstractObject copy = new AbstractObject();
+        copy.entries.putFrozen(freeze().map(), key, value == null ? AbstractNull.VALUE : value.freeze());
+        return copy;
+    }
+
+    public AbstractObject without(String key) {
+        AbstractObject source = freeze();
+        if(!source.has(key))
+            return source;
+        AbstractObject copy = new AbstractObject();
+        copy.entries.removeFrozen(source.map(), key);
+        return copy;
     }
 
     public static <T> Collector<T, ?, AbstractObject> collect(Function<T, String> keyFunction, Function<T, AbstractElement> valueFunction) {
@@ -268,24 +294,7 @@ public class AbstractObject implements AbstractElement {
     }
 
     public boolean equals(Object obj, boolean strict) {
-        if (obj == null)
-            return false;
-        if (!(obj instanceof AbstractElement))
-            return false;
-        try {
-            AbstractObject object = ((AbstractElement) obj).object(strict);
-            if (size() != object.size())
-                return false;
-            for (String key : keys()) {
-                if (!object.has(key))
-                    return false;
-                if (!object.get(key).equals(get(key), strict))
-                    return false;
-            }
-            return true;
-        } catch (AbstractCoercingException ignored) {
-            return false;
-        }
+        return Traversal.equals(this, obj, strict);
     }
 
     public boolean equals (Object obj) {
@@ -0,0 +1,136 @@
+package org.javawebstack.abstractdata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class AbstractPath {
+
+    private static final int MAX_CACHE_SIZE = 1024;
+    private static final long NO_INDEX = Long.MIN_VALUE;
+    private static final Map<String, AbstractPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final String[] segments;
+    private final long[] indices;
+
+    private AbstractPath(String path) {
+        this.path = path;
+        int count = 1;
+        for(int i=0; i<path.length(); i++) {
+            if(path.charAt(i) == '.')
+                count++;
+        }
+        segments = new String[count];
+        indices = new long[count];
+        int start = 0;
+        for(int i=0; i<count; i++) {
+            int end = path.indexOf('.', start);
+            if(end == -1)
+                end = path.length();
+            segments[i] = path.substring(start, end);
+            indices[i] = parseIndex(segments[i]);
+            start = end + 1;
+        }
+    }
+
+    public static AbstractPath compile(String path) {
+        return new AbstractPath(path);
+    }
+
+    public static AbstractPath of(String path) {
+        AbstractPath compiled = CACHE.get(path);
+        if(compiled == null) {
+            compiled = new AbstractPath(path);
+            if(CACHE.size() >= MAX_CACHE_SIZE)
+                CACHE.clear();
+            CACHE.put(path, compiled);
+        }
+        return compiled;
+    }
+
+    public int size() {
+        return segments.length;
+    }
+
+    public String get(int index) {
+        return segments[index];
+    }
+
+    public boolean isIndex(int index) {
+        return indices[index] != NO_INDEX;
+    }
+
+    public int getIndex(int index) {
+        if(indices[index] == NO_INDEX)
+            throw new IllegalArgumentException("Segment '" + segments[index] + "' is not an array index");
+        return (int) indices[index];
+    }
+
+    AbstractElement query(AbstractElement root) {
+        AbstractElement element = root;
+        for(int i=0; i<segments.length; i++) {
+            if(element.isObject()) {
+                element = element.object().get(segments[i]);
+            } else if(element.isArray()) {
+                if(indices[i] == NO_INDEX)
+                    return null;
+                element = element.array().get((int) indices[i]);
+            } else {
+                return null;
+            }
+            if(element == null)
+                return null;
+        }
+        return element;
+    }
+
+    static long parseIndex(String segment) {
+        int length = segment.length();
+        if(length == 0)
+            return NO_INDEX;
+        int i = 0;
+        boolean negative = false;
+        char first = segment.charAt(0);
+        if(first == '-' || first == '+') {
+            if(length == 1)
+                return NO_INDEX;
+            negative = first == '-';
+            i++;
+        }
+        long value = 0;
+        for(; i<length; i++) {
+            char c = segment.charAt(i);
+            if(c < '0' || c > '9')
+                return NO_INDEX;
+            value = value * 10 + (c - '0');
+            if(value > (long) Integer.MAX_VALUE + 1)
+                return NO_INDEX;
+        }
+        if(negative)
+            value = -value;
+        if(value > Integer.MAX_VALUE)
+            return NO_INDEX;
+        return value;
+    }
+
+    static boolean isIndex(long index) {
+        return index != NO_INDEX;
+    }
+
+    public boolean equals(Object obj) {
+        if(this == obj)
+            return true;
+        if(!(obj instanceof AbstractPath))
+            return false;
+        return path.equals(((AbstractPath) obj).path);
+    }
+
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    public String toString() {
+        return path;
+    }
+
+}
@@ -8,36 +8,160 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class AbstractPrimitive implements AbstractElement {
+
+    public static final AbstractPrimitive TRUE = new AbstractPrimitive(Boolean.TRUE);
+    public static final AbstractPrimitive FALSE = new AbstractPrimitive(Boolean.FALSE);
+    public static final AbstractPrimitive EMPTY_STRING = new AbstractPrimitive("");
+
+    static final byte BOXED = 0;
+    static final byte INT = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+    private static final AbstractPrimitive[] INT_CACHE = new AbstractPrimitive[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for(int i=0; i<INT_CACHE.length; i++)
+            INT_CACHE[i] = new AbstractPrimitive(Type.NUMBER, INT, i + CACHE_LOW, null);
+    }
+
+    private final Type type;
+    private final byte kind;
+    private final long bits;
     private final Object value;
 
     public AbstractPrimitive(Number value) {
         if(value == null)
             throw new NullPointerException("AbstractPrimitive value can not be null");
-        this.value = value;
+        this.type = Type.NUMBER;
+        if(value instanceof Integer) {
+            this.kind = INT;
+            this.bits = value.intValue();
+            this.value = null;
+        } else if(value instanceof Long) {
+            this.kind = LONG;
+            this.bits = value.longValue();
+            this.value = null;
+        } else if(value instanceof Double) {
+            this.kind = DOUBLE;
+            this.bits = Double.doubleToLongBits(value.doubleValue());
+            this.value = null;
+        } else {
+            this.kind = BOXED;
+            this.bits = 0;
+            this.value = value;
+        }
     }
 
     public AbstractPrimitive(Boolean value) {
+        this(Type.BOOLEAN, BOXED, 0, value);
         if(value == null)
             throw new NullPointerException("AbstractPrimitive value can not be null");
-        this.value = value;
     }
 
     public AbstractPrimitive(String value) {
+        this(Type.STRING, BOXED, 0, value);
         if(value == null)
             throw new NullPointerException("AbstractPrimitive value can not be null");
+    }
+
+    private AbstractPrimitive(Type type, byte kind, long bits, Object value) {
+        this.type = type;
+        this.kind = kind;
+        this.bits = bits;
         this.value = value;
     }
 
+    public static AbstractPrimitive valueOf(int value) {
+        if(value >= CACHE_LOW && value <= CACHE_HIGH)
+            return INT_CACHE[value - CACHE_LOW];
+        return new AbstractPrimitive(Type.NUMBER, INT, value, null);
+    }
+
+    public static AbstractPrimitive valueOf(long value) {
+        return new AbstractPrimitive(Type.NUMBER, LONG, value, null);
+    }
+
+    public static AbstractPrimitive valueOf(double value) {
+        return new AbstractPrimitive(Type.NUMBER, DOUBLE, Double.doubleToLongBits(value), null);
+    }
+
+    public static AbstractPrimitive valueOf(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    public static AbstractPrimitive valueOf(Boolean value) {
+        if(value == null)
+            throw new NullPointerException("AbstractPrimitive value can not be null");
+        return valueOf(value.booleanValue());
+    }
+
+    public static AbstractPrimitive valueOf(String value) {
+        if(value == null)
+            throw new NullPointerException("AbstractPrimitive value can not be null");
+        return value.isEmpty() ? EMPTY_STRING : new AbstractPrimitive(value);
+    }
+
+    public static AbstractPrimitive valueOf(Number value) {
+        if(value instanceof Integer)
+            return valueOf(value.intValue());
+        return new AbstractPrimitive(value);
+    }
+
+    static AbstractPrimitive of(byte kind, long bits) {
+        switch (kind) {
+            case INT:
+                return valueOf((int) bits);
+            case LONG:
+                return valueOf(bits);
+            default:
+                return new AbstractPrimitive(Type.NUMBER, DOUBLE, bits, null);
+        }
+    }
+
+    byte kind() {
+        return kind;
+    }
+
+    long bits() {
+        return bits;
+    }
+
     public boolean isNumber() {
-        return value instanceof Number;
+        return type == Type.NUMBER;
     }
 
     public boolean isString() {
-        return value instanceof String;
+        return type == Type.STRING;
     }
 
     public boolean isBoolean() {
-        return value instanceof Boolean;
+        return type == Type.BOOLEAN;
+    }
+
+    public boolean isIntegral() {
+        return kind == INT || kind == LONG || value instanceof Short || value instanceof Byte;
+    }
+
+    public boolean isDouble() {
+        return kind == DOUBLE;
+    }
+
+    public long longValue() throws AbstractCoercingException {
+        if(kind == INT || kind == LONG)
+            return bits;
+        if(kind == DOUBLE)
+            return (long) Double.longBitsToDouble(bits);
+        return number().longValue();
+    }
+
+    public double doubleValue() throws AbstractCoercingException {
+        if(kind == INT || kind == LONG)
+            return bits;
+        if(kind == DOUBLE)
+            return Double.longBitsToDouble(bits);
+        return number().doubleValue();
     }
 
     public boolean isPrimitive() {
@@ -53,14 +177,14 @@ public class AbstractPrimitive implements AbstractElement {
     }
 
     public String string(boolean strict) throws AbstractCoercingException {
-        if(!(value instanceof String)) {
+        if(type != Type.STRING) {
             if(strict)
                 throw new AbstractCoercingException(Type.STRING, getType());
             switch (getType()) {
                 case BOOLEAN:
                     return bool().toString();
                 case NUMBER:
-                    return number().toString();
+                    return toString();
                 default:
                     throw new AbstractCoercingException(Type.STRING, getType());
             }
@@ -73,7 +197,7 @@ public class AbstractPrimitive implements AbstractElement {
     }
 
     public Number number(boolean strict) throws AbstractCoercingException {
-        if(!(value instanceof Number)) {
+        if(type != Type.NUMBER) {
             if(strict)
                 throw new AbstractCoercingException(Type.NUMBER, getType());
             switch (getType()) {
@@ -90,7 +214,16 @@ public class AbstractPrimitive implements AbstractElement {
                     throw new AbstractCoercingException(Type.NUMBER, getType());
             }
         }
-        return (Number) value;
+        switch (kind) {
+            case INT:
+                return (int) bits;
+            case LONG:
+                return bits;
+            case DOUBLE:
+                return Double.longBitsToDouble(bits);
+            default:
+                return (Number) value;
+        }
     }
 
     public Boolean bool() throws AbstractCoercingException {
@@ -98,7 +231,7 @@ public class AbstractPrimitive implements AbstractElement {
     }
 
     public Boolean bool(boolean strict) throws AbstractCoercingException {
-        if(!(value instanceof Boolean)) {
+        if(type != Type.BOOLEAN) {
             if(strict)
                 throw new AbstractCoercingException(Type.BOOLEAN, getType());
             switch (getType()) {
@@ -119,7 +252,7 @@ public class AbstractPrimitive implements AbstractElement {
                     }
                 }
                 case NUMBER: {
-                    long l = ((Number) value).longValue();
+                    long l = longValue();
                     if(l == 0)
                         return false;
                     if(l == 1)
@@ -134,45 +267,47 @@ public class AbstractPrimitive implements AbstractElement {
     }
 
     public Object value() {
-        return value;
+        return kind == BOXED ? value : number();
     }
 
     public Object toObject() {
-        return value;
+        return value();
     }
 
     public Map<String[], Object> toTree() {
         Map<String[], Object> tree = new HashMap<>();
-        tree.put(new String[0], value);
+        tree.put(new String[0], value());
         return tree;
     }
 
     public static AbstractPrimitive from(Object object) {
         if (object instanceof Number)
-            return new AbstractPrimitive((Number) object);
+            return valueOf((Number) object);
         if (object instanceof Boolean)
-            return new AbstractPrimitive((Boolean) object);
+            return valueOf((Boolean) object);
         if (object instanceof String)
-            return new AbstractPrimitive((String) object);
+            return valueOf((String) object);
         return null;
     }
 
     public Type getType() {
-        if (isBoolean())
-            return Type.BOOLEAN;
-        if (isNumber())
-            return Type.NUMBER;
-        if (isString())
-            return Type.STRING;
-        return null;
+        return type;
     }
 
     public String toString() {
-        return value.toString();
+        switch (kind) {
+            case INT:
+            case LONG:
+                return Long.toString(bits);
+            case DOUBLE:
+                return Double.toString(Double.longBitsToDouble(bits));
+            default:
+                return value.toString();
+        }
     }
 
     public AbstractElement clone() {
-        return from(value);
+        return new AbstractPrimitive(type, kind, bits, value);
     }
 
     public boolean equals(Object obj, boolean strict) {
@@ -181,6 +316,8 @@ public class AbstractPrimitive implements AbstractElement {
         if (!(obj instanceof AbstractPrimitive))
             return false;
         AbstractPrimitive primitive = (AbstractPrimitive) obj;
+        if(kind != BOXED && kind == primitive.kind)
+            return bits == primitive.bits;
         try {
             if(isBoolean())
                 return bool() == primitive.bool(strict);
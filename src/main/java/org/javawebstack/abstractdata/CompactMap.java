@@ -0,0 +1,385 @@
+package org.javawebstack.abstractdata;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+final class CompactMap extends AbstractMap<String, AbstractElement> {
+
+    private static final int MAX_COMPACT_SIZE = 8;
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final AbstractElement[] EMPTY_VALUES = new AbstractElement[0];
+
+    private String[] keys = EMPTY_KEYS;
+    private AbstractElement[] values = EMPTY_VALUES;
+    private int size;
+    private LinkedHashMap<String, AbstractElement> hashed;
+    private PersistentMap persistent;
+    private int modCount;
+    private boolean frozen;
+    private volatile boolean shared;
+    private Set<Map.Entry<String, AbstractElement>> entrySet;
+
+    public int size() {
+        if(persistent != null)
+            return persistent.size();
+        return hashed != null ? hashed.size() : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(Object key) {
+        if(persistent != null)
+            return persistent.containsKey(key);
+        if(hashed != null)
+            return hashed.containsKey(key);
+        return indexOf(key) != -1;
+    }
+
+    public AbstractElement get(Object key) {
+        if(persistent != null)
+            return persistent.get(key);
+        if(hashed != null)
+            return hashed.get(key);
+        int index = indexOf(key);
+        return index != -1 ? values[index] : null;
+    }
+
+    public AbstractElement put(String key, AbstractElement value) {
+        checkMutable();
+        unshare();
+        if(hashed != null)
+            return hashed.put(key, value);
+        int index = indexOf(key);
+        if(index != -1) {
+            AbstractElement previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        modCount++;
+        if(size == MAX_COMPACT_SIZE) {
+            hashed = new LinkedHashMap<>(MAX_COMPACT_SIZE * 4);
+            for(int i=0; i<size; i++)
+                hashed.put(keys[i], values[i]);
+            hashed.put(key, value);
+            keys = EMPTY_KEYS;
+            values = EMPTY_VALUES;
+            size = 0;
+            return null;
+        }
+        if(size == keys.length) {
+            int capacity = size == 0 ? 4 : MAX_COMPACT_SIZE;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        values[size++] = value;
+        return null;
+    }
+
+    public AbstractElement remove(Object key) {
+        checkMutable();
+        unshare();
+        if(hashed != null)
+            return hashed.remove(key);
+        int index = indexOf(key);
+        if(index == -1)
+            return null;
+        AbstractElement previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    public void clear() {
+        checkMutable();
+        modCount++;
+        shared = false;
+        hashed = null;
+        persistent = null;
+        keys = EMPTY_KEYS;
+        values = EMPTY_VALUES;
+        size = 0;
+    }
+
+    public void forEach(BiConsumer<? super String, ? super AbstractElement> action) {
+        if(persistent != null) {
+            for(PersistentMap.Entry entry : persistent)
+                action.accept(entry.key, entry.value);
+            return;
+        }
+        if(hashed != null) {
+            hashed.forEach(action);
+            return;
+        }
+        int expectedModCount = modCount;
+        for(int i=0; i<size; i++) {
+            action.accept(keys[i], values[i]);
+            if(modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    public Set<Map.Entry<String, AbstractElement>> entrySet() {
+        if(entrySet == null)
+            entrySet = new EntrySet();
+        return entrySet;
+    }
+
+    void freeze() {
+        frozen = true;
+        if(hashed != null) {
+            persistent = PersistentMap.of(hashed);
+            hashed = null;
+        }
+    }
+
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    boolean isLeaf() {
+        if(persistent != null) {
+            for(PersistentMap.Entry entry : persistent) {
+                if(Traversal.isContainer(entry.value))
+                    return false;
+            }
+            return true;
+        }
+        if(hashed != null) {
+            for(AbstractElement value : hashed.values()) {
+                if(Traversal.isContainer(value))
+                    return false;
+            }
+            return true;
+        }
+        for(int i=0; i<size; i++) {
+            if(Traversal.isContainer(values[i]))
+                return false;
+        }
+        return true;
+    }
+
+    void share(CompactMap source) {
+        keys = source.keys;
+        values = source.values;
+        size = source.size;
+        hashed = source.hashed;
+        persistent = source.persistent;
+        shared = true;
+        if(!source.frozen)
+            source.shared = true;
+    }
+
+    void snapshot(CompactMap source) {
+        if(source.hashed != null)
+            persistent = PersistentMap.of(source.hashed);
+        else
+            share(source);
+        freeze();
+    }
+
+    void putFrozen(CompactMap source, String key, AbstractElement value) {
+        if(source.persistent != null) {
+            persistent = source.persistent.with(key, value);
+        } else {
+            share(source);
+            put(key, value);
+        }
+        freeze();
+    }
+
+    void removeFrozen(CompactMap source, Object key) {
+        if(source.persistent != null) {
+            persistent = source.persistent.without(key);
+        } else {
+            share(source);
+            remove(key);
+        }
+        freeze();
+    }
+
+    private void unshare() {
+        if(!shared)
+            return;
+        if(persistent != null) {
+            modCount++;
+            hashed = new LinkedHashMap<>(MAX_COMPACT_SIZE * 4);
+            for(PersistentMap.Entry entry : persistent)
+                hashed.put(entry.key, entry.value);
+            persistent = null;
+        } else if(hashed != null) {
+            hashed = new LinkedHashMap<>(hashed);
+        } else if(size > 0) {
+            keys = keys.clone();
+            values = values.clone();
+        }
+        shared = false;
+    }
+
+    private void checkMutable() {
+        if(frozen)
+            throw new UnsupportedOperationException("Frozen elements can not be modified");
+    }
+
+    private int indexOf(Object key) {
+        if(key == null) {
+            for(int i=0; i<size; i++) {
+                if(keys[i] == null)
+                    return i;
+            }
+            return -1;
+        }
+        int hash = key.hashCode();
+        for(int i=0; i<size; i++) {
+            String k = keys[i];
+            if(k == key || k != null && k.hashCode() == hash && k.equals(key))
+                return i;
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        checkMutable();
+        unshare();
+        modCount++;
+        int moved = size - index - 1;
+        if(moved > 0) {
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, AbstractElement>> {
+
+        public Iterator<Map.Entry<String, AbstractElement>> iterator() {
+            if(persistent != null)
+                return new PersistentEntryIterator(persistent.iterator());
+            if(hashed != null)
+                return new HashedEntryIterator(hashed);
+            return new EntryIterator();
+        }
+
+        public int size() {
+            return CompactMap.this.size();
+        }
+
+        public void clear() {
+            CompactMap.this.clear();
+        }
+
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, AbstractElement>> {
+
+        private int cursor;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        public Map.Entry<String, AbstractElement> next() {
+            if(modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if(cursor >= size)
+                throw new NoSuchElementException();
+            last = cursor++;
+            return new Entry(keys[last], values[last]);
+        }
+
+        public void remove() {
+            if(last == -1)
+                throw new IllegalStateException();
+            if(modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            removeAt(last);
+            cursor = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+    }
+
+    private final class HashedEntryIterator implements Iterator<Map.Entry<String, AbstractElement>> {
+
+        private final LinkedHashMap<String, AbstractElement> map;
+        private final Iterator<Map.Entry<String, AbstractElement>> iterator;
+        private Map.Entry<String, AbstractElement> last;
+
+        private HashedEntryIterator(LinkedHashMap<String, AbstractElement> map) {
+            this.map = map;
+            this.iterator = map.entrySet().iterator();
+        }
+
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        public Map.Entry<String, AbstractElement> next() {
+            last = iterator.next();
+            return new Entry(last.getKey(), last.getValue());
+        }
+
+        public void remove() {
+            if(last == null)
+                throw new IllegalStateException();
+            checkMutable();
+            if(!shared && hashed == map)
+                iterator.remove();
+            else
+                CompactMap.this.remove(last.getKey());
+            last = null;
+        }
+
+    }
+
+    private final class PersistentEntryIterator implements Iterator<Map.Entry<String, AbstractElement>> {
+
+        private final Iterator<PersistentMap.Entry> iterator;
+        private PersistentMap.Entry last;
+
+        private PersistentEntryIterator(Iterator<PersistentMap.Entry> iterator) {
+            this.iterator = iterator;
+        }
+
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        public Map.Entry<String, AbstractElement> next() {
+            last = iterator.next();
+            return new Entry(last.key, last.value);
+        }
+
+        public void remove() {
+            if(last == null)
+                throw new IllegalStateException();
+            CompactMap.this.remove(last.key);
+            last = null;
+        }
+
+    }
+
+    private final class Entry extends SimpleEntry<String, AbstractElement> {
+
+        private static final long serialVersionUID = 1L;
+
+        private Entry(String key, AbstractElement value) {
+            super(key, value);
+        }
+
+        public AbstractElement setValue(AbstractElement value) {
+            checkMutable();
+            if(containsKey(getKey()))
+                put(getKey(), value);
+            return super.setValue(value);
+        }
+
+    }
+
+}
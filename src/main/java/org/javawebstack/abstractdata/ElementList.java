@@ -0,0 +1,361 @@
+package org.javawebstack.abstractdata;
+
+import java.util.*;
+
+final class ElementList extends AbstractList<AbstractElement> implements RandomAccess {
+
+    private static final byte GENERIC = AbstractPrimitive.BOXED;
+    private static final byte BOOLEAN = 4;
+    private static final byte EMPTY = 5;
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MAX_FLAT_SIZE = 32;
+
+    private byte mode = EMPTY;
+    private long[] numbers;
+    private boolean[] booleans;
+    private AbstractElement[] elements;
+    private PersistentTree<AbstractElement> tree;
+    private int size;
+    private boolean frozen;
+    private volatile boolean shared;
+
+    public int size() {
+        return size;
+    }
+
+    public AbstractElement get(int index) {
+        checkIndex(index, size);
+        switch (mode) {
+            case GENERIC:
+                return tree != null ? tree.get(index) : elements[index];
+            case BOOLEAN:
+                return booleans[index] ? AbstractPrimitive.TRUE : AbstractPrimitive.FALSE;
+            default:
+                return AbstractPrimitive.of(mode, numbers[index]);
+        }
+    }
+
+    public AbstractElement set(int index, AbstractElement element) {
+        checkMutable();
+        unshare();
+        AbstractElement previous = get(index);
+        if(kindOf(element) != mode)
+            inflate();
+        store(index, element);
+        return previous;
+    }
+
+    public void add(int index, AbstractElement element) {
+        checkMutable();
+        unshare();
+        checkIndex(index, size + 1);
+        byte kind = kindOf(element);
+        if(mode == EMPTY)
+            mode = kind;
+        else if(kind != mode)
+            inflate();
+        grow(size + 1);
+        shift(index, index + 1, size - index);
+        store(index, element);
+        size++;
+        modCount++;
+    }
+
+    public AbstractElement remove(int index) {
+        checkMutable();
+        unshare();
+        AbstractElement previous = get(index);
+        shift(index + 1, index, size - index - 1);
+        size--;
+        if(mode == GENERIC)
+            elements[size] = null;
+        modCount++;
+        return previous;
+    }
+
+    public void clear() {
+        checkMutable();
+        shared = false;
+        mode = EMPTY;
+        numbers = null;
+        booleans = null;
+        elements = null;
+        tree = null;
+        size = 0;
+        modCount++;
+    }
+
+    public boolean addAll(Collection<? extends AbstractElement> collection) {
+        checkMutable();
+        if(!(collection instanceof ElementList))
+            return super.addAll(collection);
+        ElementList other = (ElementList) collection;
+        if(other.size == 0)
+            return false;
+        unshare();
+        if(mode == EMPTY)
+            mode = other.mode;
+        if(mode != other.mode && mode != GENERIC)
+            inflate();
+        int length = other.size;
+        grow(size + length);
+        if(mode == GENERIC) {
+            for(int i=0; i<length; i++)
+                elements[size + i] = other.get(i);
+        } else if(mode == BOOLEAN) {
+            System.arraycopy(other.booleans, 0, booleans, size, length);
+        } else {
+            System.arraycopy(other.numbers, 0, numbers, size, length);
+        }
+        size += length;
+        modCount++;
+        return true;
+    }
+
+    void addNumber(byte kind, long bits) {
+        checkMutable();
+        unshare();
+        if(mode == EMPTY)
+            mode = kind;
+        if(mode != kind) {
+            add(AbstractPrimitive.of(kind, bits));
+            return;
+        }
+        grow(size + 1);
+        numbers[size++] = bits;
+        modCount++;
+    }
+
+    void addBoolean(boolean value) {
+        checkMutable();
+        unshare();
+        if(mode == EMPTY)
+            mode = BOOLEAN;
+        if(mode != BOOLEAN) {
+            add(AbstractPrimitive.valueOf(value));
+            return;
+        }
+        grow(size + 1);
+        booleans[size++] = value;
+        modCount++;
+    }
+
+    public Iterator<AbstractElement> iterator() {
+        if(frozen && tree != null)
+            return tree.iterator();
+        return super.iterator();
+    }
+
+    void freeze() {
+        frozen = true;
+        if(mode == GENERIC && tree == null && size > MAX_FLAT_SIZE) {
+            tree = PersistentTree.of(elements, size);
+            elements = null;
+        }
+    }
+
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    boolean isLeaf() {
+        if(mode != GENERIC)
+            return true;
+        if(tree != null) {
+            for(AbstractElement element : tree) {
+                if(Traversal.isContainer(element))
+                    return false;
+            }
+            return true;
+        }
+        for(int i=0; i<size; i++) {
+            if(Traversal.isContainer(elements[i]))
+                return false;
+        }
+        return true;
+    }
+
+    void share(ElementList source) {
+        mode = source.mode;
+        numbers = source.numbers;
+        booleans = source.booleans;
+        elements = source.elements;
+        tree = source.tree;
+        size = source.size;
+        shared = true;
+        if(!source.frozen)
+            source.shared = true;
+    }
+
+    void snapshot(ElementList source) {
+        share(source);
+        freeze();
+    }
+
+    void setFrozen(ElementList source, int index, AbstractElement element) {
+        if(source.tree != null) {
+            PersistentTree<AbstractElement> updated = source.tree;
+            if(index < updated.size()) {
+                updated = updated.set(index, element);
+            } else {
+                while (updated.size() < index)
+                    updated = updated.add(AbstractNull.VALUE);
+                updated = updated.add(element);
+            }
+            mode = GENERIC;
+            tree = updated;
+            size = updated.size();
+        } else {
+            share(source);
+            while (size <= index)
+                add(AbstractNull.VALUE);
+            set(index, element);
+        }
+        freeze();
+    }
+
+    void removeFrozen(ElementList source, int index) {
+        if(source.tree != null) {
+            mode = GENERIC;
+            tree = source.tree.remove(index);
+            size = tree.size();
+        } else {
+            share(source);
+            remove(index);
+        }
+        freeze();
+    }
+
+    long[] toLongArray() {
+        if(mode == AbstractPrimitive.INT || mode == AbstractPrimitive.LONG)
+            return Arrays.copyOf(numbers, size);
+        long[] values = new long[size];
+        if(mode == AbstractPrimitive.DOUBLE) {
+            for(int i=0; i<size; i++)
+                values[i] = (long) Double.longBitsToDouble(numbers[i]);
+        } else {
+            for(int i=0; i<size; i++)
+                values[i] = get(i).number().longValue();
+        }
+        return values;
+    }
+
+    double[] toDoubleArray() {
+        double[] values = new double[size];
+        if(mode == AbstractPrimitive.DOUBLE) {
+            for(int i=0; i<size; i++)
+                values[i] = Double.longBitsToDouble(numbers[i]);
+        } else if(mode == AbstractPrimitive.INT || mode == AbstractPrimitive.LONG) {
+            for(int i=0; i<size; i++)
+                values[i] = numbers[i];
+        } else {
+            for(int i=0; i<size; i++)
+                values[i] = get(i).number().doubleValue();
+        }
+        return values;
+    }
+
+    private static byte kindOf(AbstractElement element) {
+        if(element.getClass() != AbstractPrimitive.class)
+            return GENERIC;
+        AbstractPrimitive primitive = (AbstractPrimitive) element;
+        if(primitive.kind() != AbstractPrimitive.BOXED)
+            return primitive.kind();
+        return primitive.isBoolean() ? BOOLEAN : GENERIC;
+    }
+
+    private void store(int index, AbstractElement element) {
+        switch (mode) {
+            case GENERIC:
+                elements[index] = element;
+                break;
+            case BOOLEAN:
+                booleans[index] = element.bool();
+                break;
+            default:
+                numbers[index] = ((AbstractPrimitive) element).bits();
+        }
+    }
+
+
+    private void inflate() {
+        if(mode == GENERIC)
+            return;
+        AbstractElement[] inflated = new AbstractElement[Math.max(size, DEFAULT_CAPACITY)];
+        for(int i=0; i<size; i++)
+            inflated[i] = get(i);
+        mode = GENERIC;
+        elements = inflated;
+        numbers = null;
+        booleans = null;
+    }
+
+    private void grow(int capacity) {
+        switch (mode) {
+            case GENERIC:
+                if(elements == null)
+                    elements = new AbstractElement[Math.max(capacity, DEFAULT_CAPACITY)];
+                else if(elements.length < capacity)
+                    elements = Arrays.copyOf(elements, Math.max(capacity, elements.length + (elements.length >> 1)));
+                break;
+            case BOOLEAN:
+                if(booleans == null)
+                    booleans = new boolean[Math.max(capacity, DEFAULT_CAPACITY)];
+                else if(booleans.length < capacity)
+                    booleans = Arrays.copyOf(booleans, Math.max(capacity, booleans.length + (booleans.length >> 1)));
+                break;
+            default:
+                if(numbers == null)
+                    numbers = new long[Math.max(capacity, DEFAULT_CAPACITY)];
+                else if(numbers.length < capacity)
+                    numbers = Arrays.copyOf(numbers, Math.max(capacity, numbers.length + (numbers.length >> 1)));
+        }
+    }
+
+    private void shift(int from, int to, int length) {
+        if(length <= 0)
+            return;
+        switch (mode) {
+            case GENERIC:
+                System.arraycopy(elements, from, elements, to, length);
+                break;
+            case BOOLEAN:
+                System.arraycopy(booleans, from, booleans, to, length);
+                break;
+            default:
+                System.arraycopy(numbers, from, numbers, to, length);
+        }
+    }
+
+    private void unshare() {
+        if(!shared)
+            return;
+        if(tree != null) {
+            elements = new AbstractElement[Math.max(size, DEFAULT_CAPACITY)];
+            int i = 0;
+            for(AbstractElement element : tree)
+                elements[i++] = element;
+            tree = null;
+            shared = false;
+            return;
+        }
+        if(numbers != null)
+            numbers = numbers.clone();
+        if(booleans != null)
+            booleans = booleans.clone();
+        if(elements != null)
+            elements = elements.clone();
+        shared = false;
+    }
+
+    private void checkMutable() {
+        if(frozen)
+            throw new UnsupportedOperationException("Frozen elements can not be modified");
+    }
+
+    private void checkIndex(int index, int bound) {
+        if(index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+}
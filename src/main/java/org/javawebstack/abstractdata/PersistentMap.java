@@ -0,0 +1,240 @@
+package org.javawebstack.abstractdata;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+final class PersistentMap implements Iterable<PersistentMap.Entry> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentMap EMPTY = new PersistentMap(new BitmapNode(0, new Object[0]), PersistentTree.empty(), 0);
+
+    private final BitmapNode root;
+    private final PersistentTree<Entry> order;
+    private final long nextSequence;
+
+    private PersistentMap(BitmapNode root, PersistentTree<Entry> order, long nextSequence) {
+        this.root = root;
+        this.order = order;
+        this.nextSequence = nextSequence;
+    }
+
+    static PersistentMap of(Map<String, AbstractElement> map) {
+        BitmapNode root = EMPTY.root;
+        Entry[] entries = new Entry[map.size()];
+        int sequence = 0;
+        for(Map.Entry<String, AbstractElement> e : map.entrySet()) {
+            Entry entry = new Entry(e.getKey(), e.getValue(), sequence);
+            root = (BitmapNode) put(root, 0, hash(entry.key), entry);
+            entries[sequence++] = entry;
+        }
+        return new PersistentMap(root, PersistentTree.of(entries, sequence), sequence);
+    }
+
+    int size() {
+        return order.size();
+    }
+
+    AbstractElement get(Object key) {
+        Entry entry = find(key);
+        return entry != null ? entry.value : null;
+    }
+
+    boolean containsKey(Object key) {
+        return find(key) != null;
+    }
+
+    PersistentMap with(String key, AbstractElement value) {
+        int hash = hash(key);
+        Entry previous = find(key);
+        if(previous == null) {
+            Entry entry = new Entry(key, value, nextSequence);
+            return new PersistentMap((BitmapNode) put(root, 0, hash, entry), order.add(entry), nextSequence + 1);
+        }
+        if(previous.value == value)
+            return this;
+        Entry entry = new Entry(key, value, previous.sequence);
+        int index = order.indexOf(previous.sequence, e -> e.sequence);
+        return new PersistentMap((BitmapNode) put(root, 0, hash, entry), order.set(index, entry), nextSequence);
+    }
+
+    PersistentMap without(Object key) {
+        Entry previous = find(key);
+        if(previous == null)
+            return this;
+        Object node = remove(root, 0, hash(key), key);
+        int index = order.indexOf(previous.sequence, e -> e.sequence);
+        return new PersistentMap(node != null ? (BitmapNode) node : EMPTY.root, order.remove(index), nextSequence);
+    }
+
+    public Iterator<Entry> iterator() {
+        return order.iterator();
+    }
+
+    private Entry find(Object key) {
+        int hash = hash(key);
+        Object node = root;
+        for(int shift = 0; ; shift += BITS) {
+            if(node instanceof CollisionNode) {
+                CollisionNode collision = (CollisionNode) node;
+                if(collision.hash != hash)
+                    return null;
+                for(Entry entry : collision.entries) {
+                    if(Objects.equals(entry.key, key))
+                        return entry;
+                }
+                return null;
+            }
+            BitmapNode bitmap = (BitmapNode) node;
+            int bit = bit(hash, shift);
+            if((bitmap.bitmap & bit) == 0)
+                return null;
+            Object slot = bitmap.slots[bitmap.index(bit)];
+            if(slot instanceof Entry) {
+                Entry entry = (Entry) slot;
+                return Objects.equals(entry.key, key) ? entry : null;
+            }
+            node = slot;
+        }
+    }
+
+    private static Object put(Object node, int shift, int hash, Entry entry) {
+        if(node instanceof CollisionNode) {
+            CollisionNode collision = (CollisionNode) node;
+            if(collision.hash != hash)
+                return put(new BitmapNode(bit(collision.hash, shift), new Object[]{ collision }), shift, hash, entry);
+            Entry[] entries = collision.entries;
+            for(int i=0; i<entries.length; i++) {
+                if(Objects.equals(entries[i].key, entry.key)) {
+                    entries = entries.clone();
+                    entries[i] = entry;
+                    return new CollisionNode(hash, entries);
+                }
+            }
+            Entry[] added = new Entry[entries.length + 1];
+            System.arraycopy(entries, 0, added, 0, entries.length);
+            added[entries.length] = entry;
+            return new CollisionNode(hash, added);
+        }
+        BitmapNode bitmap = (BitmapNode) node;
+        int bit = bit(hash, shift);
+        int index = bitmap.index(bit);
+        if((bitmap.bitmap & bit) == 0) {
+            Object[] slots = new Object[bitmap.slots.length + 1];
+            System.arraycopy(bitmap.slots, 0, slots, 0, index);
+            slots[index] = entry;
+            System.arraycopy(bitmap.slots, index, slots, index + 1, bitmap.slots.length - index);
+            return new BitmapNode(bitmap.bitmap | bit, slots);
+        }
+        Object slot = bitmap.slots[index];
+        Object[] slots = bitmap.slots.clone();
+        if(slot instanceof Entry) {
+            Entry existing = (Entry) slot;
+            if(Objects.equals(existing.key, entry.key))
+                slots[index] = entry;
+            else
+                slots[index] = merge(existing, hash(existing.key), entry, hash, shift + BITS);
+        } else {
+            slots[index] = put(slot, shift + BITS, hash, entry);
+        }
+        return new BitmapNode(bitmap.bitmap, slots);
+    }
+
+    private static Object merge(Entry a, int hashA, Entry b, int hashB, int shift) {
+        if(hashA == hashB)
+            return new CollisionNode(hashA, new Entry[]{ a, b });
+        int bitA = bit(hashA, shift);
+        int bitB = bit(hashB, shift);
+        if(bitA == bitB)
+            return new BitmapNode(bitA, new Object[]{ merge(a, hashA, b, hashB, shift + BITS) });
+        return new BitmapNode(bitA | bitB, Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[]{ a, b } : new Object[]{ b, a });
+    }
+
+    private static Object remove(Object node, int shift, int hash, Object key) {
+        if(node instanceof CollisionNode) {
+            Entry[] entries = ((CollisionNode) node).entries;
+            if(entries.length == 2)
+                return Objects.equals(entries[0].key, key) ? entries[1] : entries[0];
+            Entry[] removed = new Entry[entries.length - 1];
+            for(int i=0, j=0; i<entries.length; i++) {
+                if(!Objects.equals(entries[i].key, key))
+                    removed[j++] = entries[i];
+            }
+            return new CollisionNode(hash, removed);
+        }
+        BitmapNode bitmap = (BitmapNode) node;
+        int bit = bit(hash, shift);
+        int index = bitmap.index(bit);
+        Object slot = bitmap.slots[index];
+        Object replacement = slot instanceof Entry ? null : remove(slot, shift + BITS, hash, key);
+        Object[] slots;
+        int mask = bitmap.bitmap;
+        if(replacement == null) {
+            if(bitmap.slots.length == 1)
+                return null;
+            slots = new Object[bitmap.slots.length - 1];
+            System.arraycopy(bitmap.slots, 0, slots, 0, index);
+            System.arraycopy(bitmap.slots, index + 1, slots, index, slots.length - index);
+            mask &= ~bit;
+        } else {
+            slots = bitmap.slots.clone();
+            slots[index] = replacement;
+        }
+        if(shift > 0 && slots.length == 1 && slots[0] instanceof Entry)
+            return slots[0];
+        return new BitmapNode(mask, slots);
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    static final class Entry {
+
+        final String key;
+        final AbstractElement value;
+        private final long sequence;
+
+        private Entry(String key, AbstractElement value, long sequence) {
+            this.key = key;
+            this.value = value;
+            this.sequence = sequence;
+        }
+
+    }
+
+    private static final class BitmapNode {
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+    }
+
+    private static final class CollisionNode {
+
+        private final int hash;
+        private final Entry[] entries;
+
+        private CollisionNode(int hash, Entry[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+package org.javawebstack.abstractdata;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+
+final class PersistentTree<E> implements Iterable<E> {
+
+    private static final PersistentTree<Object> EMPTY = new PersistentTree<>(null);
+
+    private final Node<E> root;
+
+    private PersistentTree(Node<E> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> PersistentTree<E> empty() {
+        return (PersistentTree<E>) EMPTY;
+    }
+
+    static <E> PersistentTree<E> of(E[] values, int size) {
+        return new PersistentTree<>(build(values, 0, size));
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    E get(int index) {
+        checkIndex(index, size());
+        Node<E> node = root;
+        while (true) {
+            int left = size(node.left);
+            if(index < left) {
+                node = node.left;
+            } else if(index > left) {
+                index -= left + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    PersistentTree<E> set(int index, E value) {
+        checkIndex(index, size());
+        return new PersistentTree<>(set(root, index, value));
+    }
+
+    PersistentTree<E> insert(int index, E value) {
+        checkIndex(index, size() + 1);
+        return new PersistentTree<>(insert(root, index, value));
+    }
+
+    PersistentTree<E> add(E value) {
+        return insert(size(), value);
+    }
+
+    PersistentTree<E> remove(int index) {
+        checkIndex(index, size());
+        return new PersistentTree<>(remove(root, index));
+    }
+
+    int indexOf(long key, ToLongFunction<? super E> keyFunction) {
+        Node<E> node = root;
+        int offset = 0;
+        while (node != null) {
+            long nodeKey = keyFunction.applyAsLong(node.value);
+            if(key < nodeKey) {
+                node = node.left;
+            } else if(key > nodeKey) {
+                offset += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return offset + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    public Iterator<E> iterator() {
+        return new TreeIterator<>(root);
+    }
+
+    private static <E> Node<E> build(E[] values, int from, int to) {
+        if(from >= to)
+            return null;
+        int mid = (from + to) >>> 1;
+        return new Node<>(values[mid], build(values, from, mid), build(values, mid + 1, to));
+    }
+
+    private static <E> Node<E> set(Node<E> node, int index, E value) {
+        int left = size(node.left);
+        if(index < left)
+            return new Node<>(node.value, set(node.left, index, value), node.right);
+        if(index > left)
+            return new Node<>(node.value, node.left, set(node.right, index - left - 1, value));
+        return new Node<>(value, node.left, node.right);
+    }
+
+    private static <E> Node<E> insert(Node<E> node, int index, E value) {
+        if(node == null)
+            return new Node<>(value, null, null);
+        int left = size(node.left);
+        if(index <= left)
+            return balance(node.value, insert(node.left, index, value), node.right);
+        return balance(node.value, node.left, insert(node.right, index - left - 1, value));
+    }
+
+    private static <E> Node<E> remove(Node<E> node, int index) {
+        int left = size(node.left);
+        if(index < left)
+            return balance(node.value, remove(node.left, index), node.right);
+        if(index > left)
+            return balance(node.value, node.left, remove(node.right, index - left - 1));
+        if(node.left == null)
+            return node.right;
+        if(node.right == null)
+            return node.left;
+        Node<E> first = node.right;
+        while (first.left != null)
+            first = first.left;
+        return balance(first.value, node.left, remove(node.right, 0));
+    }
+
+    private static <E> Node<E> balance(E value, Node<E> left, Node<E> right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if(leftHeight > rightHeight + 1) {
+            if(height(left.left) >= height(left.right))
+                return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+            return new Node<>(left.right.value, new Node<>(left.value, left.left, left.right.left), new Node<>(value, left.right.right, right));
+        }
+        if(rightHeight > leftHeight + 1) {
+            if(height(right.right) >= height(right.left))
+                return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+            return new Node<>(right.left.value, new Node<>(value, left, right.left.left), new Node<>(right.value, right.left.right, right.right));
+        }
+        return new Node<>(value, left, right);
+    }
+
+    private static int size(Node<?> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static int height(Node<?> node) {
+        return node != null ? node.height : 0;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if(index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (bound - 1));
+    }
+
+    private static final class Node<E> {
+
+        private final E value;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int size;
+        private final int height;
+
+        private Node(E value, Node<E> left, Node<E> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+
+    }
+
+    private static final class TreeIterator<E> implements Iterator<E> {
+
+        private final Deque<Node<E>> stack = new ArrayDeque<>();
+
+        private TreeIterator(Node<E> root) {
+            descend(root);
+        }
+
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        public E next() {
+            if(stack.isEmpty())
+                throw new NoSuchElementException();
+            Node<E> node = stack.pop();
+            descend(node.right);
+            return node.value;
+        }
+
+        private void descend(Node<E> node) {
+            for(; node != null; node = node.left)
+                stack.push(node);
+        }
+
+    }
+
+}
@@ -0,0 +1,206 @@
+package org.javawebstack.abstractdata;
+
+import org.javawebstack.abstractdata.exception.AbstractCoercingException;
+
+import java.util.*;
+
+final class Traversal {
+
+    private Traversal() {}
+
+    static Map<String[], Object> toTree(AbstractElement root) {
+        Map<String[], Object> tree = new HashMap<>();
+        Deque<Path> paths = new ArrayDeque<>();
+        Deque<AbstractElement> elements = new ArrayDeque<>();
+        paths.push(Path.ROOT);
+        elements.push(root);
+        while (!elements.isEmpty()) {
+            Path path = paths.pop();
+            AbstractElement element = elements.pop();
+            if(element.isObject()) {
+                for(Map.Entry<String, AbstractElement> entry : element.object().entries()) {
+                    paths.push(new Path(path, entry.getKey()));
+                    elements.push(entry.getValue());
+                }
+            } else if(element.isArray()) {
+                AbstractArray array = element.array();
+                for(int i=0; i<array.size(); i++) {
+                    paths.push(new Path(path, String.valueOf(i)));
+                    elements.push(array.get(i));
+                }
+            } else {
+                element.toTree().forEach((keys, value) -> {
+                    String[] k = new String[path.length + keys.length];
+                    path.copyTo(k);
+                    System.arraycopy(keys, 0, k, path.length, keys.length);
+                    tree.put(k, value);
+                });
+            }
+        }
+        return tree;
+    }
+
+    static AbstractElement copy(AbstractElement root) {
+        if(!isContainer(root))
+            return root.clone();
+        AbstractElement copy = shallowCopy(root);
+        Deque<AbstractElement> pending = new ArrayDeque<>();
+        pending.push(root);
+        pending.push(copy);
+        while (!pending.isEmpty()) {
+            AbstractElement target = pending.pop();
+            AbstractElement source = pending.pop();
+            if(source instanceof AbstractObject) {
+                CompactMap entries = ((AbstractObject) source).map();
+                if(entries.isLeaf()) {
+                    ((AbstractObject) target).map().share(entries);
+                    continue;
+                }
+                AbstractObject object = (AbstractObject) target;
+                for(Map.Entry<String, AbstractElement> entry : entries.entrySet())
+                    object.set(entry.getKey(), copyChild(entry.getValue(), pending));
+            } else {
+                ElementList elements = ((AbstractArray) source).elements();
+                if(elements.isLeaf()) {
+                    ((AbstractArray) target).elements().share(elements);
+                    continue;
+                }
+                AbstractArray array = (AbstractArray) target;
+                for(AbstractElement element : elements)
+                    array.add(copyChild(element, pending));
+            }
+        }
+        return copy;
+    }
+
+    private static AbstractElement copyChild(AbstractElement element, Deque<AbstractElement> pending) {
+        if(!isContainer(element))
+            return element;
+        AbstractElement child = shallowCopy(element);
+        pending.push(element);
+        pending.push(child);
+        return child;
+    }
+
+    static boolean isContainer(AbstractElement element) {
+        return element instanceof AbstractObject || element instanceof AbstractArray;
+    }
+
+    static AbstractElement freeze(AbstractElement root) {
+        if(root.isFrozen())
+            return root;
+        AbstractElement frozen = shallowCopy(root);
+        Deque<AbstractElement> pending = new ArrayDeque<>();
+        pending.push(root);
+        pending.push(frozen);
+        while (!pending.isEmpty()) {
+            AbstractElement target = pending.pop();
+            AbstractElement source = pending.pop();
+            if(source instanceof AbstractObject) {
+                CompactMap entries = ((AbstractObject) source).map();
+                CompactMap map = ((AbstractObject) target).map();
+                if(entries.isLeaf()) {
+                    map.snapshot(entries);
+                    continue;
+                }
+                for(Map.Entry<String, AbstractElement> entry : entries.entrySet())
+                    map.put(entry.getKey(), freezeChild(entry.getValue(), pending));
+                map.freeze();
+            } else {
+                ElementList elements = ((AbstractArray) source).elements();
+                ElementList list = ((AbstractArray) target).elements();
+                if(elements.isLeaf()) {
+                    list.snapshot(elements);
+                    continue;
+                }
+                for(AbstractElement element : elements)
+                    list.add(freezeChild(element, pending));
+                list.freeze();
+            }
+        }
+        return frozen;
+    }
+
+    private static AbstractElement freezeChild(AbstractElement element, Deque<AbstractElement> pending) {
+        if(element.isFrozen())
+            return element;
+        if(!(element instanceof AbstractObject) && !(element instanceof AbstractArray))
+            return element.freeze();
+        AbstractElement child = shallowCopy(element);
+        pending.push(element);
+        pending.push(child);
+        return child;
+    }
+
+    private static AbstractElement shallowCopy(AbstractElement element) {
+        if(element instanceof AbstractObject)
+            return new AbstractObject();
+        if(element instanceof AbstractArray)
+            return new AbstractArray();
+        return element.clone();
+    }
+
+    static boolean equals(AbstractElement root, Object other, boolean strict) {
+        if(!(other instanceof AbstractElement))
+            return false;
+        Deque<AbstractElement> pending = new ArrayDeque<>();
+        pending.push((AbstractElement) other);
+        pending.push(root);
+        try {
+            while (!pending.isEmpty()) {
+                AbstractElement a = pending.pop();
+                AbstractElement b = pending.pop();
+                if(a instanceof AbstractObject) {
+                    AbstractObject x = (AbstractObject) a;
+                    AbstractObject y = b.object(strict);
+                    if(x.size() != y.size())
+                        return false;
+                    for(String key : x.keys()) {
+                        if(!y.has(key))
+                            return false;
+                        pending.push(x.get(key));
+                        pending.push(y.get(key));
+                    }
+                } else if(a instanceof AbstractArray) {
+                    AbstractArray x = (AbstractArray) a;
+                    AbstractArray y = b.array(strict);
+                    if(x.size() != y.size())
+                        return false;
+                    if(x.size() == 0)
+                        return false;
+                    for(int i=x.size()-1; i>=0; i--) {
+                        pending.push(y.get(i));
+                        pending.push(x.get(i));
+                    }
+                } else if(!a.equals(b, strict)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (AbstractCoercingException ignored) {
+            return false;
+        }
+    }
+
+    private static final class Path {
+
+        private static final Path ROOT = new Path(null, null);
+
+        private final Path parent;
+        private final String key;
+        private final int length;
+
+        private Path(Path parent, String key) {
+            this.parent = parent;
+            this.key = key;
+            this.length = parent == null ? 0 : parent.length + 1;
+        }
+
+        private void copyTo(String[] keys) {
+            for(Path p = this; p.parent != null; p = p.parent)
+                keys[p.length - 1] = p.key;
+        }
+
+    }
+
+}
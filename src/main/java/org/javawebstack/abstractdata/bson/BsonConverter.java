@@ -37,15 +37,15 @@ public class BsonConverter {
             case NULL:
                 return AbstractNull.VALUE;
             case STRING:
-                return new AbstractPrimitive(value.asString().getValue());
+                return AbstractPrimitive.valueOf(value.asString().getValue());
             case BOOLEAN:
-                return new AbstractPrimitive(value.asBoolean().getValue());
+                return AbstractPrimitive.valueOf(value.asBoolean().getValue());
             case INT32:
-                return new AbstractPrimitive(value.asInt32().getValue());
+                return AbstractPrimitive.valueOf(value.asInt32().getValue());
             case INT64:
-                return new AbstractPrimitive(value.asInt64().getValue());
+                return AbstractPrimitive.valueOf(value.asInt64().getValue());
             case DOUBLE:
-                return new AbstractPrimitive(value.asDouble().getValue());
+                return AbstractPrimitive.valueOf(value.asDouble().getValue());
             case OBJECT_ID:
                 return toAbstract(value.asObjectId().getValue());
             case DATE_TIME:
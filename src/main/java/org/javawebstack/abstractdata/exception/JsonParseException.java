@@ -0,0 +1,28 @@
+package org.javawebstack.abstractdata.exception;
+
+import java.text.ParseException;
+
+public class JsonParseException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int errorOffset;
+
+    public JsonParseException(ParseException cause) {
+        this(cause.getMessage(), cause);
+    }
+
+    public JsonParseException(String message, ParseException cause) {
+        super(message, cause);
+        this.errorOffset = cause.getErrorOffset();
+    }
+
+    public int getErrorOffset() {
+        return errorOffset;
+    }
+
+    public ParseException getCause() {
+        return (ParseException) super.getCause();
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.javawebstack.abstractdata.json;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public int read() {
+        if(!buffer.hasRemaining())
+            return -1;
+        return buffer.get() & 0xFF;
+    }
+
+    public int read(byte[] b, int off, int len) {
+        if(len == 0)
+            return 0;
+        if(!buffer.hasRemaining())
+            return -1;
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    public int available() {
+        return buffer.remaining();
+    }
+
+}
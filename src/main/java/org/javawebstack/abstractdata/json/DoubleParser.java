@@ -0,0 +1,105 @@
+package org.javawebstack.abstractdata.json;
+
+import java.math.BigInteger;
+
+final class DoubleParser {
+
+    private static final int MIN_EXPONENT = -348;
+    private static final int MAX_EXPONENT = 347;
+    private static final double[] SMALL_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private DoubleParser() {}
+
+    static double toDouble(long mantissa, int exponent, boolean negative) {
+        if(mantissa == 0)
+            return negative ? -0.0 : 0.0;
+        if(mantissa > 0 && mantissa <= (1L << 53) && exponent >= -22 && exponent <= 22) {
+            double value = mantissa;
+            value = exponent < 0 ? value / SMALL_POWERS[-exponent] : value * SMALL_POWERS[exponent];
+            return negative ? -value : value;
+        }
+        return eiselLemire(mantissa, exponent, negative);
+    }
+
+    private static double eiselLemire(long mantissa, int exponent, boolean negative) {
+        if(exponent < MIN_EXPONENT || exponent > MAX_EXPONENT)
+            return Double.NaN;
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        mantissa <<= clz;
+        long exp2 = ((217706L * exponent) >> 16) + 64 + 1023 - clz;
+
+        long[] power = Powers.TABLE[exponent - MIN_EXPONENT];
+        long hi = multiplyHigh(mantissa, power[0]);
+        long lo = mantissa * power[0];
+        if((hi & 0x1FF) == 0x1FF && Long.compareUnsigned(lo + mantissa, mantissa) < 0) {
+            long yHi = multiplyHigh(mantissa, power[1]);
+            long yLo = mantissa * power[1];
+            long mergedHi = hi;
+            long mergedLo = lo + yHi;
+            if(Long.compareUnsigned(mergedLo, lo) < 0)
+                mergedHi++;
+            if((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + mantissa, mantissa) < 0)
+                return Double.NaN;
+            hi = mergedHi;
+            lo = mergedLo;
+        }
+
+        long msb = hi >>> 63;
+        long bits = hi >>> (msb + 9);
+        exp2 -= 1 ^ msb;
+        if(lo == 0 && (hi & 0x1FF) == 0 && (bits & 3) == 1)
+            return Double.NaN;
+        bits += bits & 1;
+        bits >>>= 1;
+        if((bits >>> 53) > 0) {
+            bits >>>= 1;
+            exp2++;
+        }
+        if(exp2 <= 0 || exp2 >= 0x7FF)
+            return Double.NaN;
+        bits = (exp2 << 52) | (bits & 0x000FFFFFFFFFFFFFL);
+        if(negative)
+            bits |= Long.MIN_VALUE;
+        return Double.longBitsToDouble(bits);
+    }
+
+    static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long w0 = x0 * y0;
+        long t = x1 * y0 + (w0 >>> 32);
+        long w1 = (t & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
+
+    private static final class Powers {
+
+        private static final long[][] TABLE = new long[MAX_EXPONENT - MIN_EXPONENT + 1][];
+
+        static {
+            BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+            for(int e = MIN_EXPONENT; e <= MAX_EXPONENT; e++) {
+                BigInteger value;
+                if(e >= 0) {
+                    value = BigInteger.TEN.pow(e);
+                    int shift = value.bitLength() - 128;
+                    value = shift > 0 ? value.shiftRight(shift) : value.shiftLeft(-shift);
+                } else {
+                    BigInteger divisor = BigInteger.TEN.pow(-e);
+                    value = BigInteger.ONE.shiftLeft(divisor.bitLength() + 127).divide(divisor);
+                }
+                TABLE[e - MIN_EXPONENT] = new long[]{
+                        value.shiftRight(64).longValue(),
+                        value.and(mask).longValue()
+                };
+            }
+        }
+
+    }
+
+}
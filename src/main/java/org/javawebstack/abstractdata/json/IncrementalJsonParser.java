@@ -0,0 +1,187 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractElement;
+
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class IncrementalJsonParser {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final JsonParser parser;
+    private byte[] buf = new byte[INITIAL_BUFFER_SIZE];
+    private int limit;
+    private int scan;
+    private int start = -1;
+    private long offset;
+    private int depth;
+    private boolean string;
+    private boolean escape;
+    private boolean scalar;
+    private boolean finished;
+
+    IncrementalJsonParser(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    public List<AbstractElement> feed(byte[] bytes) throws ParseException {
+        return feed(bytes, 0, bytes.length);
+    }
+
+    public List<AbstractElement> feed(byte[] bytes, int offset, int length) throws ParseException {
+        ensureOpen();
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buf, limit, length);
+        limit += length;
+        return process();
+    }
+
+    public List<AbstractElement> feed(ByteBuffer buffer) throws ParseException {
+        ensureOpen();
+        int length = buffer.remaining();
+        ensureCapacity(length);
+        buffer.get(buf, limit, length);
+        limit += length;
+        return process();
+    }
+
+    public List<AbstractElement> endOfInput() throws ParseException {
+        ensureOpen();
+        finished = true;
+        List<AbstractElement> elements = new ArrayList<>();
+        if(scalar) {
+            scalar = false;
+            elements.add(complete(limit));
+        }
+        if(depth > 0 || string)
+            throw new ParseException("Unexpected character <EOF>", (int) (offset + limit));
+        return elements;
+    }
+
+    public boolean isIdle() {
+        return start == -1;
+    }
+
+    private List<AbstractElement> process() throws ParseException {
+        List<AbstractElement> elements = null;
+        for(; scan < limit; scan++) {
+            byte b = buf[scan];
+            if(string) {
+                if(escape) {
+                    escape = false;
+                } else if(b == '\\') {
+                    escape = true;
+                } else if(b == '"') {
+                    string = false;
+                    if(depth == 0)
+                        elements = add(elements, complete(scan + 1));
+                }
+                continue;
+            }
+            if(scalar) {
+                if(!isDelimiter(b))
+                    continue;
+                scalar = false;
+                elements = add(elements, complete(scan));
+            }
+            switch (b) {
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                case '\f':
+                case '\b':
+                    break;
+                case '"':
+                    begin();
+                    string = true;
+                    break;
+                case '{':
+                case '[':
+                    begin();
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if(depth == 0)
+                        throw new ParseException("Unexpected character '" + (char) b + "'", (int) (offset + scan));
+                    if(--depth == 0)
+                        elements = add(elements, complete(scan + 1));
+                    break;
+                default:
+                    if(depth == 0) {
+                        begin();
+                        scalar = true;
+                    }
+            }
+        }
+        compact();
+        return elements != null ? elements : Collections.emptyList();
+    }
+
+    private void begin() {
+        if(depth == 0)
+            start = scan;
+    }
+
+    private AbstractElement complete(int end) throws ParseException {
+        int from = start;
+        start = -1;
+        return parser.parse(buf, from, end - from);
+    }
+
+    private void compact() {
+        int keep = start != -1 ? start : scan;
+        if(keep == 0)
+            return;
+        System.arraycopy(buf, keep, buf, 0, limit - keep);
+        limit -= keep;
+        scan -= keep;
+        if(start != -1)
+            start -= keep;
+        offset += keep;
+    }
+
+    private void ensureCapacity(int length) {
+        if(buf.length - limit < length)
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, limit + length));
+    }
+
+    private void ensureOpen() {
+        if(finished)
+            throw new IllegalStateException("End of input has already been signaled");
+    }
+
+    private static List<AbstractElement> add(List<AbstractElement> elements, AbstractElement element) {
+        if(elements == null)
+            elements = new ArrayList<>();
+        elements.add(element);
+        return elements;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        switch (b) {
+            case ' ':
+            case '\t':
+            case '\r':
+            case '\n':
+            case '\f':
+            case '\b':
+            case '"':
+            case '{':
+            case '}':
+            case '[':
+            case ']':
+            case ',':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+}
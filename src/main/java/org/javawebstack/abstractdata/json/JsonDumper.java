@@ -1,18 +1,23 @@
 package org.javawebstack.abstractdata.json;
 
-import org.javawebstack.abstractdata.AbstractArray;
 import org.javawebstack.abstractdata.AbstractElement;
+import org.javawebstack.abstractdata.AbstractPrimitive;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
 
 public class JsonDumper {
 
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
     private boolean pretty;
     private String indent = "    ";
+    private EscapePolicy escapePolicy = EscapePolicy.COMPATIBLE;
 
     public JsonDumper setPretty(boolean pretty) {
         this.pretty = pretty;
@@ -24,114 +29,240 @@ public class JsonDumper {
         return this;
     }
 
+    public JsonDumper setEscapePolicy(EscapePolicy escapePolicy) {
+        this.escapePolicy = escapePolicy;
+        return this;
+    }
+
+    public boolean isPretty() {
+        return pretty;
+    }
+
+    public EscapePolicy getEscapePolicy() {
+        return escapePolicy;
+    }
+
+    public String escape(String s) {
+        int first = firstEscape(s, 0);
+        if(first == -1)
+            return s;
+        StringBuilder sb = new StringBuilder(s.length() + 16);
+        try {
+            escape(s, first, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
     public String dump(AbstractElement element) {
-        return String.join("\n", dumpLines(element));
-    }
-
-    private List<String> dumpLines(AbstractElement element) {
-        if(element == null || element.isNull())
-            return Collections.singletonList("null");
-        if(element.isBoolean())
-            return Collections.singletonList(element.bool().toString());
-        if(element.isNumber())
-            return Collections.singletonList(element.number().toString());
-        if(element.isString())
-            return Collections.singletonList("\"" + escape(element.string()) + "\"");
-        if(element.isObject()) {
-            List<String> lines =new ArrayList<>();
-            if(element.object().size() == 0) {
-                lines.add("{}");
-                return lines;
-            }
-            if(pretty) {
-                lines.add("{");
-                List<String> keys = new ArrayList<>(element.object().keys());
-                for(int i=0; i<keys.size(); i++) {
-                    String k = keys.get(i);
-                    List<String> vLines = dumpLines(element.object().get(k));
-                    lines.add(indent + "\"" + escape(k) + "\": " + vLines.get(0));
-                    for(int j=1; j<vLines.size(); j++)
-                        lines.add(indent + vLines.get(j));
-                    if(i+1 < keys.size())
-                        lines.set(lines.size()-1, lines.get(lines.size()-1) + ",");
+        StringBuilder sb = new StringBuilder();
+        try {
+            dump(element, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    public byte[] dumpBytes(AbstractElement element) {
+        Utf8Output output = Utf8Output.acquire();
+        try {
+            dump(element, output);
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            output.release();
+        }
+    }
+
+    public void dump(AbstractElement element, OutputStream stream) throws IOException {
+        Utf8Output output = Utf8Output.acquire().to(stream);
+        try {
+            dump(element, output);
+            output.flush();
+        } finally {
+            output.release();
+        }
+    }
+
+    public void dump(AbstractElement element, WritableByteChannel channel) throws IOException {
+        Utf8Output output = Utf8Output.acquire().to(channel);
+        try {
+            dump(element, output);
+            output.flush();
+        } finally {
+            output.release();
+        }
+    }
+
+    public void dump(AbstractElement root, Appendable sb) throws IOException {
+        dump(root, sb, 0, new NumberFormatter());
+    }
+
+    void dump(AbstractElement root, Appendable sb, int base, NumberFormatter numbers) throws IOException {
+        Iterator<?>[] stack = new Iterator<?>[16];
+        boolean[] objects = new boolean[16];
+        boolean[] empty = new boolean[16];
+        int depth = 0;
+        AbstractElement element = root;
+        while (true) {
+            if(element != null && element.isObject() && element.object().size() > 0) {
+                if(depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                    objects = Arrays.copyOf(objects, depth * 2);
+                    empty = Arrays.copyOf(empty, depth * 2);
+                }
+                sb.append('{');
+                stack[depth] = element.object().entries().iterator();
+                objects[depth] = true;
+                empty[depth++] = true;
+            } else if(element != null && element.isArray() && element.array().size() > 0) {
+                if(depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                    objects = Arrays.copyOf(objects, depth * 2);
+                    empty = Arrays.copyOf(empty, depth * 2);
                 }
-                lines.add("}");
+                sb.append('[');
+                stack[depth] = element.array().iterator();
+                objects[depth] = false;
+                empty[depth++] = true;
             } else {
-                lines.add("{" + element.object().keys().stream().map(k -> "\"" + escape(k) + "\":" + dumpLines(element.object().get(k)).get(0)).collect(Collectors.joining(",")) + "}");
+                writeScalar(element, sb, numbers);
             }
-            return lines;
-        }
-        if(element.isArray()) {
-            List<String> lines =new ArrayList<>();
-            if(element.array().size() == 0) {
-                lines.add("[]");
-                return lines;
-            }
-            if(pretty) {
-                lines.add("[");
-                AbstractArray array = element.array();
-                for(int i=0; i<array.size(); i++) {
-                    List<String> vLines = dumpLines(array.get(i));
-                    for(int j=0; j<vLines.size(); j++)
-                        lines.add(indent + vLines.get(j));
-                    if(i+1 < array.size())
-                        lines.set(lines.size()-1, lines.get(lines.size()-1) + ",");
+            boolean next = false;
+            while (depth > 0) {
+                Iterator<?> iterator = stack[depth - 1];
+                if(iterator.hasNext()) {
+                    if(!empty[depth - 1])
+                        sb.append(',');
+                    empty[depth - 1] = false;
+                    newLine(sb, base + depth);
+                    if(objects[depth - 1]) {
+                        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) iterator.next();
+                        writeName((String) entry.getKey(), sb);
+                        element = (AbstractElement) entry.getValue();
+                    } else {
+                        element = (AbstractElement) iterator.next();
+                    }
+                    next = true;
+                    break;
                 }
-                lines.add("]");
+                stack[--depth] = null;
+                newLine(sb, base + depth);
+                sb.append(objects[depth] ? '}' : ']');
+            }
+            if(!next)
+                return;
+        }
+    }
+
+    void newLine(Appendable sb, int depth) throws IOException {
+        if(!pretty)
+            return;
+        sb.append('\n');
+        for(int i=0; i<depth; i++)
+            sb.append(indent);
+    }
+
+    private void writeScalar(AbstractElement element, Appendable sb, NumberFormatter numbers) throws IOException {
+        if(element == null || element.isNull()) {
+            sb.append("null");
+        } else if(element.isBoolean()) {
+            sb.append(element.bool().toString());
+        } else if(element.isNumber()) {
+            if(element instanceof AbstractPrimitive && ((AbstractPrimitive) element).isIntegral())
+                numbers.writeLong(((AbstractPrimitive) element).longValue(), sb);
+            else if(element instanceof AbstractPrimitive && ((AbstractPrimitive) element).isDouble())
+                numbers.writeDouble(((AbstractPrimitive) element).doubleValue(), sb);
+            else
+                numbers.write(element.number(), sb);
+        } else if(element.isString()) {
+            writeString(element.string(), sb);
+        } else if(element.isObject()) {
+            sb.append("{}");
+        } else if(element.isArray()) {
+            sb.append("[]");
+        }
+    }
+
+    void writeString(String s, Appendable sb) throws IOException {
+        sb.append('"');
+        escape(s, 0, sb);
+        sb.append('"');
+    }
+
+    void writeName(String name, Appendable sb) throws IOException {
+        writeString(name, sb);
+        sb.append(':');
+        if(pretty)
+            sb.append(' ');
+    }
+
+    private void escape(String s, int from, Appendable sb) throws IOException {
+        int start = 0;
+        for(int i = firstEscape(s, from); i != -1; i = firstEscape(s, start)) {
+            if(i > start)
+                sb.append(s, start, i);
+            char c = s.charAt(i);
+            String replacement = c < 128 ? escapePolicy.escapes[c] : null;
+            if(replacement != null) {
+                sb.append(replacement);
             } else {
-                lines.add("[" + element.array().stream().map(e -> dumpLines(e).get(0)).collect(Collectors.joining(",")) + "]");
+                sb.append('\\').append('u')
+                        .append(HEX_DIGITS[c >> 12])
+                        .append(HEX_DIGITS[(c >> 8) & 0xF])
+                        .append(HEX_DIGITS[(c >> 4) & 0xF])
+                        .append(HEX_DIGITS[c & 0xF]);
             }
-            return lines;
+            start = i + 1;
         }
-        return new ArrayList<>();
+        if(start == 0)
+            sb.append(s);
+        else
+            sb.append(s, start, s.length());
     }
 
-    private static String escape(String s) {
-        StringBuilder sb = new StringBuilder();
-        for(int i=0; i<s.length(); i++) {
-            char ch = s.charAt(i);
-            switch(ch) {
-                case '"':
-                    sb.append("\\\"");
-                    break;
-                case '\\':
-                    sb.append("\\\\");
-                    break;
-                case '\b':
-                    sb.append("\\b");
-                    break;
-                case '\f':
-                    sb.append("\\f");
-                    break;
-                case '\n':
-                    sb.append("\\n");
-                    break;
-                case '\r':
-                    sb.append("\\r");
-                    break;
-                case '\t':
-                    sb.append("\\t");
-                    break;
-                case '/':
-                    sb.append("\\/");
-                    break;
-                case '\0':
-                    sb.append("\\0");
-                    break;
-                default:
-                    if (ch <= '\u001F' || ch >= '\u007F' && ch <= '\u009F' || ch >= '\u2000' && ch <= '\u20FF') {
-                        String hex = Integer.toHexString(ch);
-                        sb.append("\\u");
-                        for(int k=0; k < 4-hex.length(); k++)
-                            sb.append('0');
-                        sb.append(hex.toUpperCase(Locale.ROOT));
-                    } else {
-                        sb.append(ch);
-                    }
-                    break;
+    private int firstEscape(String s, int from) {
+        String[] escapes = escapePolicy.escapes;
+        boolean ranges = escapePolicy.escapeRanges;
+        for(int i=from; i<s.length(); i++) {
+            char c = s.charAt(i);
+            if(c < 128) {
+                if(escapes[c] != null)
+                    return i;
+            } else if(ranges && (c <= '\u009F' || c >= '\u2000' && c <= '\u20FF')) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public enum EscapePolicy {
+        MINIMAL(false),
+        COMPATIBLE(true);
+
+        private final String[] escapes = new String[128];
+        private final boolean escapeRanges;
+
+        EscapePolicy(boolean compatible) {
+            this.escapeRanges = compatible;
+            for(int c=0; c<0x20; c++)
+                escapes[c] = String.format("\\u%04X", c);
+            escapes['"'] = "\\\"";
+            escapes['\\'] = "\\\\";
+            escapes['\b'] = "\\b";
+            escapes['\f'] = "\\f";
+            escapes['\n'] = "\\n";
+            escapes['\r'] = "\\r";
+            escapes['\t'] = "\\t";
+            if(compatible) {
+                escapes['/'] = "\\/";
+                escapes[0] = "\\0";
+                escapes[0x7F] = "\\u007F";
             }
         }
-        return sb.toString();
     }
 
 }
@@ -1,222 +1,319 @@
 package org.javawebstack.abstractdata.json;
 
 import org.javawebstack.abstractdata.*;
+import org.javawebstack.abstractdata.exception.JsonParseException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.text.ParseException;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 public class JsonParser {
 
+    private static final int FILE_BUFFER_SIZE = 65536;
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 20;
+    private static final int DEFAULT_MAX_DEPTH = 1000;
+
+    private boolean lazy;
+    private StringCache stringCache;
+    private boolean parallel;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private Projection projection;
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+
+    /**
+     * Lazy parsing only validates the structure of the document up front. Values are decoded when their container
+     * is first accessed, so syntax errors inside them surface at that point as a {@link JsonParseException}.
+     * Byte array and heap buffer input is copied before a lazy parse, so the caller may reuse it afterwards. A
+     * {@link JsonReader} passed to {@link #parse(JsonReader)} is read in place and its backing array must stay
+     * unchanged while the returned tree is in use.
+     */
+    public JsonParser setLazy(boolean lazy) {
+        this.lazy = lazy;
+        return this;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public JsonParser setCanonicalizeStrings(boolean canonicalizeStrings) {
+        this.stringCache = canonicalizeStrings ? new StringCache() : null;
+        return this;
+    }
+
+    public boolean isCanonicalizeStrings() {
+        return stringCache != null;
+    }
+
+    public JsonParser setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public JsonParser setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public JsonParser setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+        return this;
+    }
+
+    public JsonParser setMaxDepth(int maxDepth) {
+        if(maxDepth < 1)
+            throw new IllegalArgumentException("Max depth must be positive");
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public JsonParser setProjection(String... paths) {
+        return setProjection(Arrays.asList(paths));
+    }
+
+    public JsonParser setProjection(Collection<String> paths) {
+        this.projection = paths == null || paths.isEmpty() ? null : Projection.of(paths);
+        return this;
+    }
+
+    public IncrementalJsonParser newIncremental() {
+        return new IncrementalJsonParser(this);
+    }
+
     public AbstractElement parse(String json) throws ParseException {
-        char[] primChars = json.toCharArray();
-        List<Character> chars = new ArrayList<>(primChars.length);
-        for(int i=0; i<primChars.length; i++)
-            chars.add(primChars[i]);
-        Deque<Character> stack = new ArrayDeque<>(chars);
-        AbstractElement parsed;
-        try {
-            parsed = parse(stack);
-        } catch (NullPointerException ex) {
-            throw new ParseException("Unexpected character <EOF>", primChars.length);
+        return parseBuffered(new JsonReader(json));
+    }
+
+    public AbstractElement parse(byte[] json) throws ParseException {
+        return parse(json, 0, json.length);
+    }
+
+    public AbstractElement parse(byte[] json, int offset, int length) throws ParseException {
+        JsonReader reader = new JsonReader(json, offset, length);
+        if(lazy)
+            reader = new JsonReader(Arrays.copyOfRange(json, offset, offset + length));
+        return parseBuffered(reader);
+    }
+
+    public AbstractElement parse(ByteBuffer json) throws ParseException {
+        if(lazy && json.hasArray()) {
+            byte[] copy = new byte[json.remaining()];
+            json.duplicate().get(copy);
+            return parseBuffered(new JsonReader(copy));
         }
-        if(parsed == null) {
-            int line = 1;
-            int pos = 1;
-            for(int i=0; i<primChars.length - stack.size(); i++) {
-                if(primChars[i] == '\n') {
-                    line++;
-                    pos = 1;
+        return parseBuffered(new JsonReader(json));
+    }
+
+    AbstractElement parseOwned(byte[] json, int offset, int length) throws ParseException {
+        return parseBuffered(new JsonReader(json, offset, length));
+    }
+
+    public AbstractElement parse(Reader reader) throws IOException, ParseException {
+        return parse(new JsonReader(reader));
+    }
+
+    public AbstractElement parse(InputStream stream) throws IOException, ParseException {
+        return parse(new JsonReader(stream));
+    }
+
+    public AbstractElement parse(Path path) throws IOException, ParseException {
+        try (JsonReader reader = new JsonReader(new MappedFileInputStream(path), FILE_BUFFER_SIZE)) {
+            return parse(reader);
+        }
+    }
+
+    public AbstractElement parse(JsonReader reader) throws IOException, ParseException {
+        if(stringCache != null)
+            reader.setStringCache(stringCache);
+        reader.setMaxDepth(maxDepth);
+        if(projection != null)
+            return parseProjected(reader, projection, true);
+        if(lazy && reader.isBuffered()) {
+            JsonReader.Token token = reader.peek();
+            if(token == JsonReader.Token.BEGIN_OBJECT || token == JsonReader.Token.BEGIN_ARRAY)
+                return LazyDocument.parse(this, reader);
+        }
+        if(parallel && reader.isBuffered() && reader.peek() == JsonReader.Token.BEGIN_ARRAY && reader.limit() - reader.position() >= parallelThreshold)
+            return ParallelArrayParser.parse(this, reader, pool);
+        return parseTree(reader);
+    }
+
+    AbstractElement parseTree(JsonReader reader) throws IOException, ParseException {
+        AbstractElement[] stack = new AbstractElement[16];
+        int depth = 0;
+        while (true) {
+            AbstractElement parent = depth > 0 ? stack[depth - 1] : null;
+            String key = null;
+            if(parent != null) {
+                if(!reader.hasNext()) {
+                    if(parent.isObject())
+                        reader.endObject();
+                    else
+                        reader.endArray();
+                    stack[--depth] = null;
+                    if(depth == 0)
+                        return parent;
+                    continue;
                 }
-                pos++;
+                if(parent.isObject())
+                    key = reader.nextName();
             }
-            throw new ParseException("Unexpected character '" + stack.pop() + "' at line " + line + " pos " + pos, primChars.length - stack.size());
-        }
-        return parsed;
-    }
-
-    private AbstractElement parse(Deque<Character> stack) {
-        popWhitespace(stack);
-        switch (stack.peek()) {
-            case '"':
-                return parseString(stack);
-            case 't': {
-                stack.pop();
-                if(stack.peek() != 'r')
-                    return null;
-                stack.pop();
-                if(stack.peek() != 'u')
-                    return null;
-                stack.pop();
-                if(stack.peek() != 'e')
-                    return null;
-                stack.pop();
-                return new AbstractPrimitive(true);
+            AbstractElement value;
+            boolean container = false;
+            switch (reader.peek()) {
+                case STRING:
+                    value = AbstractPrimitive.valueOf(reader.nextString());
+                    break;
+                case NUMBER:
+                    if(parent != null && key == null) {
+                        addNumber(parent.array(), reader);
+                        continue;
+                    }
+                    value = readNumber(reader);
+                    break;
+                case BOOLEAN:
+                    if(parent != null && key == null) {
+                        parent.array().add(reader.nextBoolean());
+                        continue;
+                    }
+                    value = AbstractPrimitive.valueOf(reader.nextBoolean());
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    value = AbstractNull.VALUE;
+                    break;
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    value = new AbstractObject();
+                    container = true;
+                    break;
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    value = new AbstractArray();
+                    container = true;
+                    break;
+                default:
+                    reader.skipValue();
+                    value = null;
             }
-            case 'f': {
-                stack.pop();
-                if(stack.peek() != 'a')
-                    return null;
-                stack.pop();
-                if(stack.peek() != 'l')
-                    return null;
-                stack.pop();
-                if(stack.peek() != 's')
-                    return null;
-                stack.pop();
-                if(stack.peek() != 'e')
-                    return null;
-                stack.pop();
-                return new AbstractPrimitive(false);
+            if(parent == null && !container)
+                return value;
+            if(parent != null) {
+                if(key != null)
+                    parent.object().set(key, value);
+                else
+                    parent.array().add(value);
             }
-            case 'n': {
-                stack.pop();
-                if(stack.peek() != 'u')
-                    return null;
-                stack.pop();
-                if(stack.peek() != 'l')
-                    return null;
-                stack.pop();
-                if(stack.peek() != 'l')
-                    return null;
-                stack.pop();
-                return AbstractNull.VALUE;
+            if(container) {
+                if(depth == stack.length)
+                    stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = value;
             }
-            case '0':
-            case '1':
-            case '2':
-            case '3':
-            case '4':
-            case '5':
-            case '6':
-            case '7':
-            case '8':
-            case '9':
-            case '-':
-            case '.':
-                return parseNumber(stack);
-            case '{':
-                return parseObject(stack);
-            case '[':
-                return parseArray(stack);
-            default:
-                return null;
         }
     }
 
-    private void popWhitespace(Deque<Character> stack) {
-        final String WHITESPACE = " \t\f\b\r\n";
-        while (WHITESPACE.contains("" + stack.peek()))
-            stack.pop();
-    }
-
-    private AbstractPrimitive parseNumber(Deque<Character> stack) {
-        StringBuilder sb = new StringBuilder();
-        while (Character.isDigit(stack.peek()) || stack.peek() == '.' || stack.peek() == '-' || stack.peek() == 'E' || stack.peek() == 'e')
-            sb.append(stack.pop());
-        String s = sb.toString();
-        if(s.contains(".")) {
-            return new AbstractPrimitive(Double.parseDouble(s));
-        } else {
-            long l = Long.parseLong(s);
-            if(l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE)
-                return new AbstractPrimitive((int) l);
-            return new AbstractPrimitive(l);
+    private static AbstractPrimitive readNumber(JsonReader reader) throws IOException, ParseException {
+        switch (reader.readNumber()) {
+            case JsonReader.NUMBER_INT:
+                return AbstractPrimitive.valueOf((int) reader.longValue());
+            case JsonReader.NUMBER_LONG:
+                return AbstractPrimitive.valueOf(reader.longValue());
+            case JsonReader.NUMBER_DOUBLE:
+                return AbstractPrimitive.valueOf(reader.doubleValue());
+            default:
+                return AbstractPrimitive.valueOf(reader.numberValue());
         }
     }
 
-    private AbstractPrimitive parseString(Deque<Character> stack) {
-        stack.pop();
-        StringBuilder sb = new StringBuilder();
-        while (true) {
-            char c = stack.pop();
-            if(c == '"')
+    private static void addNumber(AbstractArray array, JsonReader reader) throws IOException, ParseException {
+        switch (reader.readNumber()) {
+            case JsonReader.NUMBER_INT:
+                array.add((int) reader.longValue());
                 break;
-            if(c == '\\') {
-                c = stack.pop();
-                switch (c) {
-                    case 'n':
-                        sb.append('\n');
-                        break;
-                    case 'r':
-                        sb.append('\r');
-                        break;
-                    case 't':
-                        sb.append('\t');
-                        break;
-                    case 'f':
-                        sb.append('\f');
-                        break;
-                    case 'b':
-                        sb.append('\b');
-                        break;
-                    case '0':
-                        sb.append('\0');
-                        break;
-                    case '\\':
-                    case '"':
-                    case '/':
-                        sb.append(c);
-                        break;
-                    case 'u':
-                        sb.append((char) Integer.parseInt("" + stack.pop() + stack.pop() + stack.pop() + stack.pop(), 16));
-                        break;
-                }
-                continue;
-            }
-            sb.append(c);
+            case JsonReader.NUMBER_LONG:
+                array.add(reader.longValue());
+                break;
+            case JsonReader.NUMBER_DOUBLE:
+                array.add(reader.doubleValue());
+                break;
+            default:
+                array.add(AbstractPrimitive.valueOf(reader.numberValue()));
         }
-        return new AbstractPrimitive(sb.toString());
     }
 
-    private AbstractObject parseObject(Deque<Character> stack) {
-        stack.pop();
-        AbstractObject object = new AbstractObject();
-        while (true) {
-            popWhitespace(stack);
-            if(stack.peek() == '}') {
-                stack.pop();
-                break;
+    private AbstractElement parseProjected(JsonReader reader, Projection projection, boolean root) throws IOException, ParseException {
+        if(projection.isTerminal())
+            return parseTree(reader);
+        switch (reader.peek()) {
+            case BEGIN_OBJECT: {
+                AbstractObject object = new AbstractObject();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String key = reader.nextName();
+                    Projection child = projection.child(key);
+                    if(child == null) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    AbstractElement value = parseProjected(reader, child, false);
+                    if(value != null)
+                        object.set(key, value);
+                }
+                reader.endObject();
+                return root || object.size() > 0 ? object : null;
+            }
+            case BEGIN_ARRAY: {
+                AbstractArray array = new AbstractArray();
+                reader.beginArray();
+                int skipped = 0;
+                for(int i=0; reader.hasNext(); i++) {
+                    Projection child = projection.child(i);
+                    AbstractElement value = child != null ? parseProjected(reader, child, false) : null;
+                    if(value == null) {
+                        if(child == null)
+                            reader.skipValue();
+                        skipped++;
+                        if(!projection.hasIndexAfter(i)) {
+                            while (reader.hasNext())
+                                reader.skipValue();
+                        }
+                        continue;
+                    }
+                    for(; skipped > 0; skipped--)
+                        array.addNull();
+                    array.add(value);
+                }
+                reader.endArray();
+                return root || array.size() > 0 ? array : null;
             }
-            AbstractPrimitive key = parseString(stack);
-            if(key == null)
-                return null;
-            popWhitespace(stack);
-            if(stack.peek() != ':')
-                return null;
-            stack.pop();
-            popWhitespace(stack);
-            AbstractElement value = parse(stack);
-            if(value == null)
-                return null;
-            object.set(key.string(), value);
-            popWhitespace(stack);
-            if(stack.peek() == ',')
-                stack.pop();
+            default:
+                reader.skipValue();
+                return root ? AbstractNull.VALUE : null;
         }
-        return object;
     }
 
-    private AbstractArray parseArray(Deque<Character> stack) {
-        stack.pop();
-        AbstractArray array = new AbstractArray();
-        while (true) {
-            popWhitespace(stack);
-            if(stack.peek() == ']') {
-                stack.pop();
-                break;
-            }
-            AbstractElement value = parse(stack);
-            if(value == null)
-                return null;
-            array.add(value);
-            popWhitespace(stack);
-            if(stack.peek() == ',')
-                stack.pop();
+    private AbstractElement parseBuffered(JsonReader reader) throws ParseException {
+        try {
+            return parse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return array;
     }
 
 }
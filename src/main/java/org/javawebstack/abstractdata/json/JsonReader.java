@@ -0,0 +1,860 @@
+package org.javawebstack.abstractdata.json;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Arrays;
+
+public class JsonReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int CANONICAL_VALUE_LENGTH = 32;
+    private static final int MAX_MANTISSA_DIGITS = 19;
+
+    static final int NUMBER_INT = 0;
+    static final int NUMBER_LONG = 1;
+    static final int NUMBER_DOUBLE = 2;
+    static final int NUMBER_BIG = 3;
+
+    private static final int SCOPE_EMPTY_DOCUMENT = 0;
+    private static final int SCOPE_NONEMPTY_DOCUMENT = 1;
+    private static final int SCOPE_EMPTY_ARRAY = 2;
+    private static final int SCOPE_NONEMPTY_ARRAY = 3;
+    private static final int SCOPE_EMPTY_OBJECT = 4;
+    private static final int SCOPE_DANGLING_NAME = 5;
+    private static final int SCOPE_NONEMPTY_OBJECT = 6;
+
+    private final boolean utf8;
+    private final Reader reader;
+    private final InputStream stream;
+    private char[] chars;
+    private byte[] bytes;
+    private final int origin;
+    private int pos;
+    private int limit;
+    private int mark = -1;
+    private long bufferOffset;
+    private int line = 1;
+    private long lineOffset;
+    private final StringBuilder builder = new StringBuilder();
+    private StringCache stringCache;
+    private int maxDepth = Integer.MAX_VALUE;
+    private long longValue;
+    private double doubleValue;
+    private Number numberValue;
+
+    private int[] stack = new int[32];
+    private int stackSize = 1;
+    private Token peeked;
+
+    public JsonReader(String json) {
+        this.utf8 = false;
+        this.reader = null;
+        this.stream = null;
+        this.chars = json.toCharArray();
+        this.origin = 0;
+        this.limit = chars.length;
+    }
+
+    public JsonReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JsonReader(Reader reader, int bufferSize) {
+        if(bufferSize < 16)
+            throw new IllegalArgumentException("Buffer size must be at least 16");
+        this.utf8 = false;
+        this.reader = reader;
+        this.stream = null;
+        this.chars = new char[bufferSize];
+        this.origin = 0;
+    }
+
+    public JsonReader(InputStream stream) {
+        this(stream, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JsonReader(InputStream stream, int bufferSize) {
+        if(bufferSize < 16)
+            throw new IllegalArgumentException("Buffer size must be at least 16");
+        this.utf8 = true;
+        this.reader = null;
+        this.stream = stream;
+        this.bytes = new byte[bufferSize];
+        this.origin = 0;
+    }
+
+    public JsonReader(byte[] json) {
+        this(json, 0, json.length);
+    }
+
+    public JsonReader(byte[] json, int offset, int length) {
+        if(offset < 0 || length < 0 || offset + length > json.length)
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + (offset + length) + ") out of bounds for length " + json.length);
+        this.utf8 = true;
+        this.reader = null;
+        this.stream = null;
+        this.bytes = json;
+        this.origin = offset;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.bufferOffset = -offset;
+    }
+
+    public JsonReader(ByteBuffer json) {
+        this.utf8 = true;
+        this.reader = null;
+        if(json.hasArray()) {
+            this.stream = null;
+            this.bytes = json.array();
+            this.origin = json.arrayOffset() + json.position();
+            this.pos = origin;
+            this.limit = json.arrayOffset() + json.limit();
+            this.bufferOffset = -origin;
+        } else {
+            this.stream = new ByteBufferInputStream(json.duplicate());
+            this.bytes = new byte[Math.max(16, Math.min(DEFAULT_BUFFER_SIZE, json.remaining()))];
+            this.origin = 0;
+        }
+    }
+
+    JsonReader(JsonReader source) {
+        if(!source.isBuffered())
+            throw new IllegalArgumentException("Only buffered readers can be duplicated");
+        this.utf8 = source.utf8;
+        this.reader = null;
+        this.stream = null;
+        this.chars = source.chars;
+        this.bytes = source.bytes;
+        this.origin = source.origin;
+        this.pos = source.origin;
+        this.limit = source.limit;
+        this.bufferOffset = source.bufferOffset;
+        this.stringCache = source.stringCache;
+        this.maxDepth = source.maxDepth;
+    }
+
+    public Token peek() throws IOException, ParseException {
+        if(peeked != null)
+            return peeked;
+        int c;
+        switch (stack[stackSize - 1]) {
+            case SCOPE_EMPTY_DOCUMENT:
+                stack[stackSize - 1] = SCOPE_NONEMPTY_DOCUMENT;
+                c = nextNonWhitespace(true);
+                break;
+            case SCOPE_NONEMPTY_DOCUMENT:
+                c = nextNonWhitespace(false);
+                if(c == -1)
+                    return peeked = Token.END_DOCUMENT;
+                break;
+            case SCOPE_EMPTY_ARRAY:
+                stack[stackSize - 1] = SCOPE_NONEMPTY_ARRAY;
+                c = nextNonWhitespace(true);
+                if(c == ']')
+                    return peeked = Token.END_ARRAY;
+                break;
+            case SCOPE_NONEMPTY_ARRAY:
+                c = nextNonWhitespace(true);
+                if(c == ',') {
+                    pos++;
+                    c = nextNonWhitespace(true);
+                }
+                if(c == ']')
+                    return peeked = Token.END_ARRAY;
+                break;
+            case SCOPE_EMPTY_OBJECT:
+            case SCOPE_NONEMPTY_OBJECT:
+                c = nextNonWhitespace(true);
+                if(c == ',' && stack[stackSize - 1] == SCOPE_NONEMPTY_OBJECT) {
+                    pos++;
+                    c = nextNonWhitespace(true);
+                }
+                if(c == '}')
+                    return peeked = Token.END_OBJECT;
+                if(c != '"')
+                    throw unexpected();
+                return peeked = Token.NAME;
+            case SCOPE_DANGLING_NAME:
+                c = nextNonWhitespace(true);
+                if(c != ':')
+                    throw unexpected();
+                pos++;
+                stack[stackSize - 1] = SCOPE_NONEMPTY_OBJECT;
+                c = nextNonWhitespace(true);
+                break;
+            default:
+                throw new IllegalStateException("Reader is closed");
+        }
+        switch (c) {
+            case '"':
+                return peeked = Token.STRING;
+            case '{':
+                return peeked = Token.BEGIN_OBJECT;
+            case '[':
+                return peeked = Token.BEGIN_ARRAY;
+            case 't':
+            case 'f':
+                return peeked = Token.BOOLEAN;
+            case 'n':
+                return peeked = Token.NULL;
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+            case '-':
+            case '.':
+                return peeked = Token.NUMBER;
+            default:
+                throw unexpected();
+        }
+    }
+
+    public boolean hasNext() throws IOException, ParseException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException, ParseException {
+        expect(Token.BEGIN_OBJECT);
+        pos++;
+        push(SCOPE_EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException, ParseException {
+        expect(Token.END_OBJECT);
+        pos++;
+        stackSize--;
+    }
+
+    public void beginArray() throws IOException, ParseException {
+        expect(Token.BEGIN_ARRAY);
+        pos++;
+        push(SCOPE_EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException, ParseException {
+        expect(Token.END_ARRAY);
+        pos++;
+        stackSize--;
+    }
+
+    public String nextName() throws IOException, ParseException {
+        expect(Token.NAME);
+        String name = utf8 ? readUtf8String(true) : readCharString(true);
+        stack[stackSize - 1] = SCOPE_DANGLING_NAME;
+        return name;
+    }
+
+    public String nextString() throws IOException, ParseException {
+        expect(Token.STRING);
+        return utf8 ? readUtf8String(false) : readCharString(false);
+    }
+
+    public boolean nextBoolean() throws IOException, ParseException {
+        expect(Token.BOOLEAN);
+        if(at(pos) == 't') {
+            expectLiteral("true");
+            return true;
+        }
+        expectLiteral("false");
+        return false;
+    }
+
+    public void nextNull() throws IOException, ParseException {
+        expect(Token.NULL);
+        expectLiteral("null");
+    }
+
+    public Number nextNumber() throws IOException, ParseException {
+        switch (readNumber()) {
+            case NUMBER_INT:
+                return (int) longValue;
+            case NUMBER_LONG:
+                return longValue;
+            case NUMBER_DOUBLE:
+                return doubleValue;
+            default:
+                return numberValue;
+        }
+    }
+
+    int readNumber() throws IOException, ParseException {
+        expect(Token.NUMBER);
+        mark = pos;
+        try {
+            boolean negative = false;
+            if(at(pos) == '-') {
+                negative = true;
+                pos++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean truncated = false;
+            boolean decimal = false;
+            int c = current();
+            int digitsStart = pos;
+            while (c >= '0' && c <= '9') {
+                if(digits < MAX_MANTISSA_DIGITS) {
+                    if(digits > 0 || c != '0') {
+                        mantissa = mantissa * 10 + (c - '0');
+                        digits++;
+                    }
+                } else {
+                    truncated |= c != '0';
+                    exponent++;
+                }
+                pos++;
+                c = current();
+            }
+            if(pos == digitsStart && c != '.') {
+                pos = mark;
+                throw unexpected();
+            }
+            if(c == '.') {
+                decimal = true;
+                pos++;
+                c = current();
+                digitsStart = pos;
+                while (c >= '0' && c <= '9') {
+                    if(digits < MAX_MANTISSA_DIGITS) {
+                        if(digits > 0 || c != '0') {
+                            mantissa = mantissa * 10 + (c - '0');
+                            digits++;
+                        }
+                        exponent--;
+                    } else {
+                        truncated |= c != '0';
+                    }
+                    pos++;
+                    c = current();
+                }
+                if(pos == digitsStart)
+                    throw invalidNumber(mark);
+            }
+            if(c == 'e' || c == 'E') {
+                decimal = true;
+                pos++;
+                c = current();
+                boolean negativeExponent = false;
+                if(c == '+' || c == '-') {
+                    negativeExponent = c == '-';
+                    pos++;
+                    c = current();
+                }
+                digitsStart = pos;
+                int value = 0;
+                while (c >= '0' && c <= '9') {
+                    if(value < 100000)
+                        value = value * 10 + (c - '0');
+                    pos++;
+                    c = current();
+                }
+                if(pos == digitsStart)
+                    throw invalidNumber(mark);
+                exponent += negativeExponent ? -value : value;
+            }
+            if(!decimal) {
+                if(!truncated && exponent == 0 && Long.compareUnsigned(mantissa, negative ? Long.MIN_VALUE : Long.MAX_VALUE) <= 0) {
+                    longValue = negative ? -mantissa : mantissa;
+                    return longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE ? NUMBER_INT : NUMBER_LONG;
+                }
+                numberValue = new BigInteger(text(mark, pos));
+                return NUMBER_BIG;
+            }
+            if(!truncated) {
+                double value = DoubleParser.toDouble(mantissa, exponent, negative);
+                if(Double.isNaN(value))
+                    value = Double.parseDouble(text(mark, pos));
+                if(!Double.isInfinite(value) && (value != 0 || mantissa == 0)) {
+                    doubleValue = value;
+                    return NUMBER_DOUBLE;
+                }
+            }
+            numberValue = new BigDecimal(text(mark, pos));
+            return NUMBER_BIG;
+        } finally {
+            mark = -1;
+        }
+    }
+
+    private int current() throws IOException {
+        return pos < limit || fill(1) ? at(pos) : -1;
+    }
+
+    private ParseException invalidNumber(int start) {
+        return new ParseException("Invalid number '" + text(start, pos) + "'", offset(start));
+    }
+
+    public void skipValue() throws IOException, ParseException {
+        int depth = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    if(depth == 0)
+                        throw unexpected();
+                    endObject();
+                    depth--;
+                    break;
+                case END_ARRAY:
+                    if(depth == 0)
+                        throw unexpected();
+                    endArray();
+                    depth--;
+                    break;
+                case NAME:
+                    peeked = null;
+                    skipString();
+                    stack[stackSize - 1] = SCOPE_DANGLING_NAME;
+                    break;
+                case STRING:
+                    peeked = null;
+                    skipString();
+                    break;
+                case NUMBER:
+                    peeked = null;
+                    skipNumber();
+                    break;
+                case BOOLEAN:
+                    nextBoolean();
+                    break;
+                case NULL:
+                    nextNull();
+                    break;
+                case END_DOCUMENT:
+                    throw unexpected();
+            }
+        } while (depth > 0);
+    }
+
+    public void close() throws IOException {
+        peeked = null;
+        stack[0] = -1;
+        stackSize = 1;
+        if(reader != null)
+            reader.close();
+        if(stream != null)
+            stream.close();
+    }
+
+    public JsonReader setMaxDepth(int maxDepth) {
+        if(maxDepth < 1)
+            throw new IllegalArgumentException("Max depth must be positive");
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    long longValue() {
+        return longValue;
+    }
+
+    double doubleValue() {
+        return doubleValue;
+    }
+
+    Number numberValue() {
+        return numberValue;
+    }
+
+    void setStringCache(StringCache stringCache) {
+        this.stringCache = stringCache;
+    }
+
+    boolean isBuffered() {
+        return reader == null && stream == null;
+    }
+
+    int position() {
+        return pos;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    void reset(int position) {
+        pos = position;
+        peeked = null;
+        stack[0] = SCOPE_EMPTY_DOCUMENT;
+        stackSize = 1;
+    }
+
+    void resumeArray(int position, boolean empty) {
+        pos = position;
+        peeked = null;
+        stack[0] = SCOPE_NONEMPTY_DOCUMENT;
+        stack[1] = empty ? SCOPE_EMPTY_ARRAY : SCOPE_NONEMPTY_ARRAY;
+        stackSize = 2;
+    }
+
+    byte[] utf8Buffer() {
+        return utf8 ? bytes : null;
+    }
+
+    void skipTo(int position) {
+        peeked = null;
+        pos = position;
+    }
+
+    int at(int i) {
+        return utf8 ? bytes[i] & 0xFF : chars[i];
+    }
+
+    private String text(int start, int end) {
+        return utf8 ? new String(bytes, start, end - start, StandardCharsets.ISO_8859_1) : new String(chars, start, end - start);
+    }
+
+    int offset(int index) {
+        return (int) Math.min(bufferOffset + index, Integer.MAX_VALUE);
+    }
+
+    private void expect(Token token) throws IOException, ParseException {
+        if(peek() != token)
+            throw unexpected();
+        peeked = null;
+    }
+
+    private void push(int scope) throws ParseException {
+        if(stackSize > maxDepth)
+            throw depthExceeded(pos);
+        if(stackSize == stack.length)
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        stack[stackSize++] = scope;
+    }
+
+    private int nextNonWhitespace(boolean required) throws IOException, ParseException {
+        while (pos < limit || fill(1)) {
+            int c = at(pos);
+            switch (c) {
+                case ' ':
+                case '\t':
+                case '\f':
+                case '\b':
+                case '\r':
+                case '\n':
+                    pos++;
+                    break;
+                default:
+                    return c;
+            }
+        }
+        if(required)
+            throw unexpected();
+        return -1;
+    }
+
+    private void expectLiteral(String literal) throws IOException, ParseException {
+        for(int i=0; i<literal.length(); i++) {
+            if((pos >= limit && !fill(1)) || at(pos) != literal.charAt(i))
+                throw unexpected();
+            pos++;
+        }
+    }
+
+    private String readCharString(boolean name) throws IOException, ParseException {
+        pos++;
+        int start = pos;
+        int hash = 0;
+        while (pos < limit) {
+            char c = chars[pos];
+            if(c == '"') {
+                int length = pos++ - start;
+                if(stringCache != null && (name || length <= CANONICAL_VALUE_LENGTH))
+                    return stringCache.get(chars, start, length, hash);
+                return new String(chars, start, length);
+            }
+            if(c == '\\')
+                break;
+            hash = 31 * hash + c;
+            pos++;
+        }
+        StringBuilder sb = builder;
+        sb.setLength(0);
+        sb.append(chars, start, pos - start);
+        while (true) {
+            start = pos;
+            while (pos < limit) {
+                char c = chars[pos];
+                if(c == '"' || c == '\\')
+                    break;
+                pos++;
+            }
+            sb.append(chars, start, pos - start);
+            if(pos >= limit) {
+                if(!fill(1))
+                    throw unexpected();
+                continue;
+            }
+            if(chars[pos] == '"') {
+                pos++;
+                return canonicalize(sb, name);
+            }
+            pos++;
+            readEscape(sb);
+        }
+    }
+
+    private String readUtf8String(boolean name) throws IOException, ParseException {
+        pos++;
+        int start = pos;
+        int hash = 0;
+        while (pos < limit) {
+            byte b = bytes[pos];
+            if(b == '"') {
+                int length = pos++ - start;
+                if(stringCache != null && (name || length <= CANONICAL_VALUE_LENGTH))
+                    return stringCache.get(bytes, start, length, hash);
+                return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+            }
+            if(b == '\\' || b < 0)
+                break;
+            hash = 31 * hash + b;
+            pos++;
+        }
+        StringBuilder sb = builder;
+        sb.setLength(0);
+        for(int i=start; i<pos; i++)
+            sb.append((char) bytes[i]);
+        while (true) {
+            if(pos >= limit && !fill(1))
+                throw unexpected();
+            int b = bytes[pos] & 0xFF;
+            if(b == '"') {
+                pos++;
+                return canonicalize(sb, name);
+            }
+            if(b == '\\') {
+                pos++;
+                readEscape(sb);
+            } else if(b < 0x80) {
+                sb.append((char) b);
+                pos++;
+            } else {
+                readUtf8Sequence(sb, b);
+            }
+        }
+    }
+
+    private String canonicalize(StringBuilder sb, boolean name) {
+        if(stringCache != null && (name || sb.length() <= CANONICAL_VALUE_LENGTH))
+            return stringCache.get(sb.toString());
+        return sb.toString();
+    }
+
+    private void readUtf8Sequence(StringBuilder sb, int lead) throws IOException, ParseException {
+        int length;
+        int codePoint;
+        if(lead >= 0xF0 && lead <= 0xF4) {
+            length = 4;
+            codePoint = lead & 0x07;
+        } else if(lead >= 0xE0 && lead <= 0xEF) {
+            length = 3;
+            codePoint = lead & 0x0F;
+        } else if(lead >= 0xC2 && lead <= 0xDF) {
+            length = 2;
+            codePoint = lead & 0x1F;
+        } else {
+            sb.append('\uFFFD');
+            pos++;
+            return;
+        }
+        if(limit - pos < length && !fill(length)) {
+            pos = limit;
+            throw unexpected();
+        }
+        for(int i=1; i<length; i++) {
+            int b = bytes[pos + i] & 0xFF;
+            if((b & 0xC0) != 0x80) {
+                sb.append('\uFFFD');
+                pos += i;
+                return;
+            }
+            codePoint = (codePoint << 6) | (b & 0x3F);
+        }
+        pos += length;
+        if(length == 3 && (codePoint < 0x800 || (codePoint >= 0xD800 && codePoint <= 0xDFFF))) {
+            sb.append('\uFFFD');
+        } else if(length == 4 && (codePoint < 0x10000 || codePoint > 0x10FFFF)) {
+            sb.append('\uFFFD');
+        } else {
+            sb.appendCodePoint(codePoint);
+        }
+    }
+
+    private void readEscape(StringBuilder sb) throws IOException, ParseException {
+        if(pos >= limit && !fill(1))
+            throw unexpected();
+        int c = at(pos++);
+        switch (c) {
+            case 'n':
+                sb.append('\n');
+                break;
+            case 'r':
+                sb.append('\r');
+                break;
+            case 't':
+                sb.append('\t');
+                break;
+            case 'f':
+                sb.append('\f');
+                break;
+            case 'b':
+                sb.append('\b');
+                break;
+            case '0':
+                sb.append('\0');
+                break;
+            case '\\':
+            case '"':
+            case '/':
+                sb.append((char) c);
+                break;
+            case 'u':
+                sb.append(readUnicodeEscape());
+                break;
+            default:
+                pos--;
+                throw unexpected();
+        }
+    }
+
+    private void skipString() throws IOException, ParseException {
+        pos++;
+        while (pos < limit || fill(1)) {
+            int c = at(pos++);
+            if(c == '"')
+                return;
+            if(c == '\\') {
+                if(pos >= limit && !fill(1))
+                    break;
+                pos++;
+            }
+        }
+        throw unexpected();
+    }
+
+    private void skipNumber() throws IOException {
+        while (pos < limit || fill(1)) {
+            int c = at(pos);
+            if((c < '0' || c > '9') && c != '-' && c != '+' && c != '.' && c != 'e' && c != 'E')
+                return;
+            pos++;
+        }
+    }
+
+    private char readUnicodeEscape() throws IOException, ParseException {
+        if(limit - pos < 4 && !fill(4)) {
+            pos = limit;
+            throw unexpected();
+        }
+        int value = 0;
+        for(int i=0; i<4; i++) {
+            int digit = Character.digit(at(pos), 16);
+            if(digit == -1)
+                throw unexpected();
+            value = (value << 4) | digit;
+            pos++;
+        }
+        return (char) value;
+    }
+
+    private boolean fill(int minimum) throws IOException {
+        if(reader == null && stream == null)
+            return limit - pos >= minimum;
+        int keep = mark >= 0 ? mark : pos;
+        if(keep > 0) {
+            countLines(keep);
+            if(utf8) {
+                System.arraycopy(bytes, keep, bytes, 0, limit - keep);
+            } else {
+                System.arraycopy(chars, keep, chars, 0, limit - keep);
+            }
+            limit -= keep;
+            pos -= keep;
+            if(mark >= 0)
+                mark -= keep;
+            bufferOffset += keep;
+        }
+        if(limit == (utf8 ? bytes.length : chars.length)) {
+            if(utf8) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            } else {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+        }
+        while (limit - pos < minimum) {
+            int read = utf8 ? stream.read(bytes, limit, bytes.length - limit) : reader.read(chars, limit, chars.length - limit);
+            if(read == -1)
+                return false;
+            limit += read;
+        }
+        return true;
+    }
+
+    private void countLines(int end) {
+        for(int i=origin; i<end; i++) {
+            if(at(i) == '\n') {
+                line++;
+                lineOffset = bufferOffset + i + 1;
+            }
+        }
+    }
+
+    private ParseException unexpected() {
+        return unexpected(pos);
+    }
+
+    ParseException depthExceeded(int position) {
+        return new ParseException("Maximum nesting depth of " + maxDepth + " exceeded", offset(position));
+    }
+
+    ParseException unexpected(int position) {
+        if(position >= limit)
+            return new ParseException("Unexpected character <EOF>", offset(position));
+        int line = this.line;
+        long lineOffset = this.lineOffset;
+        for(int i=origin; i<position; i++) {
+            if(at(i) == '\n') {
+                line++;
+                lineOffset = bufferOffset + i + 1;
+            }
+        }
+        return new ParseException("Unexpected character '" + (char) at(position) + "' at line " + line + " pos " + (bufferOffset + position - lineOffset + 1), offset(position));
+    }
+
+    public enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        NAME,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT
+    }
+
+}
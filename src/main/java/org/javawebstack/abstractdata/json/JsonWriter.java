@@ -0,0 +1,240 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractElement;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+public class JsonWriter implements Closeable, Flushable {
+
+    private static final int SCOPE_EMPTY_DOCUMENT = 0;
+    private static final int SCOPE_NONEMPTY_DOCUMENT = 1;
+    private static final int SCOPE_EMPTY_ARRAY = 2;
+    private static final int SCOPE_NONEMPTY_ARRAY = 3;
+    private static final int SCOPE_EMPTY_OBJECT = 4;
+    private static final int SCOPE_DANGLING_NAME = 5;
+    private static final int SCOPE_NONEMPTY_OBJECT = 6;
+
+    private final Appendable out;
+    private final OutputStream stream;
+    private Utf8Output output;
+    private final JsonDumper dumper;
+    private final NumberFormatter numbers = new NumberFormatter();
+    private int[] stack = new int[32];
+    private int stackSize;
+    private boolean closed;
+
+    public JsonWriter(OutputStream stream) {
+        this(stream, new JsonDumper());
+    }
+
+    public JsonWriter(OutputStream stream, JsonDumper dumper) {
+        this(Utf8Output.acquire().to(stream), stream, dumper);
+    }
+
+    public JsonWriter(Appendable out) {
+        this(out, new JsonDumper());
+    }
+
+    public JsonWriter(Appendable out, JsonDumper dumper) {
+        this(out, null, dumper);
+    }
+
+    private JsonWriter(Appendable out, OutputStream stream, JsonDumper dumper) {
+        this.out = out;
+        this.stream = stream;
+        this.output = stream != null ? (Utf8Output) out : null;
+        this.dumper = dumper;
+        stack[stackSize++] = SCOPE_EMPTY_DOCUMENT;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        out.append('{');
+        push(SCOPE_EMPTY_OBJECT);
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close(SCOPE_EMPTY_OBJECT, SCOPE_NONEMPTY_OBJECT, '}');
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        out.append('[');
+        push(SCOPE_EMPTY_ARRAY);
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(SCOPE_EMPTY_ARRAY, SCOPE_NONEMPTY_ARRAY, ']');
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        if(name == null)
+            throw new NullPointerException("name == null");
+        int scope = peek();
+        if(scope == SCOPE_NONEMPTY_OBJECT)
+            out.append(',');
+        else if(scope != SCOPE_EMPTY_OBJECT)
+            throw new IllegalStateException("Names are only allowed inside of objects");
+        dumper.newLine(out, stackSize - 1);
+        dumper.writeName(name, out);
+        stack[stackSize - 1] = SCOPE_DANGLING_NAME;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if(value == null)
+            return nullValue();
+        beforeValue();
+        dumper.writeString(value, out);
+        return this;
+    }
+
+    public JsonWriter value(Number value) throws IOException {
+        if(value == null)
+            return nullValue();
+        beforeValue();
+        numbers.write(value, out);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        numbers.writeLong(value, out);
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        beforeValue();
+        numbers.writeDouble(value, out);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.append(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter value(Boolean value) throws IOException {
+        if(value == null)
+            return nullValue();
+        return value(value.booleanValue());
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.append("null");
+        return this;
+    }
+
+    public JsonWriter writeElement(AbstractElement element) throws IOException {
+        beforeValue();
+        dumper.dump(element, out, stackSize - 1, numbers);
+        return this;
+    }
+
+    public void flush() throws IOException {
+        if(closed)
+            throw new IllegalStateException("Writer is closed");
+        if(output != null) {
+            output.flush();
+            if(isComplete())
+                release();
+        } else if(stream != null) {
+            stream.flush();
+        } else if(out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+
+    public void close() throws IOException {
+        if(closed)
+            return;
+        try {
+            flush();
+            if(!isComplete())
+                throw new IOException("Incomplete document");
+        } finally {
+            closed = true;
+            try {
+                if(stream != null)
+                    stream.close();
+                else if(out instanceof Closeable)
+                    ((Closeable) out).close();
+            } finally {
+                release();
+            }
+        }
+    }
+
+    public void discard() {
+        closed = true;
+        release();
+    }
+
+    private boolean isComplete() {
+        return stackSize == 1 && stack[0] == SCOPE_NONEMPTY_DOCUMENT;
+    }
+
+    private void release() {
+        if(output == null)
+            return;
+        output.release();
+        output = null;
+    }
+
+    private void beforeValue() throws IOException {
+        switch (peek()) {
+            case SCOPE_EMPTY_DOCUMENT:
+                stack[0] = SCOPE_NONEMPTY_DOCUMENT;
+                return;
+            case SCOPE_NONEMPTY_DOCUMENT:
+                throw new IllegalStateException("JSON must have only one top-level value");
+            case SCOPE_EMPTY_ARRAY:
+                stack[stackSize - 1] = SCOPE_NONEMPTY_ARRAY;
+                dumper.newLine(out, stackSize - 1);
+                return;
+            case SCOPE_NONEMPTY_ARRAY:
+                out.append(',');
+                dumper.newLine(out, stackSize - 1);
+                return;
+            case SCOPE_DANGLING_NAME:
+                stack[stackSize - 1] = SCOPE_NONEMPTY_OBJECT;
+                return;
+            default:
+                throw new IllegalStateException("Values inside of objects require a name");
+        }
+    }
+
+    private JsonWriter close(int empty, int nonempty, char bracket) throws IOException {
+        int scope = peek();
+        if(scope == SCOPE_DANGLING_NAME)
+            throw new IllegalStateException("Dangling name");
+        if(scope != empty && scope != nonempty)
+            throw new IllegalStateException("Nesting problem");
+        stackSize--;
+        if(scope == nonempty)
+            dumper.newLine(out, stackSize - 1);
+        out.append(bracket);
+        return this;
+    }
+
+    private void push(int scope) {
+        if(stackSize == stack.length)
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        stack[stackSize++] = scope;
+    }
+
+    private int peek() {
+        if(closed)
+            throw new IllegalStateException("Writer is closed");
+        return stack[stackSize - 1];
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractArray;
+import org.javawebstack.abstractdata.AbstractElement;
+import org.javawebstack.abstractdata.AbstractObject;
+import org.javawebstack.abstractdata.exception.JsonParseException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+
+final class LazyDocument {
+
+    private final JsonParser parser;
+    private final JsonReader reader;
+    private final StructuralIndex index;
+
+    private LazyDocument(JsonParser parser, JsonReader reader, StructuralIndex index) {
+        this.parser = parser;
+        this.reader = reader;
+        this.index = index;
+    }
+
+    static AbstractElement parse(JsonParser parser, JsonReader source) throws ParseException {
+        StructuralIndex index = StructuralIndex.build(source, source.position());
+        LazyDocument document = new LazyDocument(parser, new JsonReader(source), index);
+        source.skipTo(index.position(index.partner(0)) + 1);
+        return document.container(0);
+    }
+
+    private AbstractElement container(int entry) {
+        if(reader.at(index.position(entry)) == '{')
+            return new LazyJsonObject(this, entry);
+        return new LazyJsonArray(this, entry);
+    }
+
+    void fillObject(AbstractObject target, int entry) {
+        try {
+            reader.reset(index.position(entry));
+            reader.beginObject();
+            int child = entry + 1;
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                JsonReader.Token token = reader.peek();
+                if(token == JsonReader.Token.BEGIN_OBJECT || token == JsonReader.Token.BEGIN_ARRAY) {
+                    target.set(key, child(child));
+                    child = index.partner(child) + 1;
+                } else {
+                    target.set(key, parser.parseTree(reader));
+                }
+            }
+            reader.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    void fillArray(AbstractArray target, int entry) {
+        try {
+            reader.reset(index.position(entry));
+            reader.beginArray();
+            int child = entry + 1;
+            while (reader.hasNext()) {
+                JsonReader.Token token = reader.peek();
+                if(token == JsonReader.Token.BEGIN_OBJECT || token == JsonReader.Token.BEGIN_ARRAY) {
+                    target.add(child(child));
+                    child = index.partner(child) + 1;
+                } else {
+                    target.add(parser.parseTree(reader));
+                }
+            }
+            reader.endArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    private AbstractElement child(int entry) {
+        if(reader.position() != index.position(entry))
+            throw new IllegalStateException("Structural index is out of sync with the document");
+        reader.skipTo(index.position(index.partner(entry)) + 1);
+        return container(entry);
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractObject;
+
+class LazyJsonObject extends AbstractObject {
+
+    private final LazyDocument document;
+    private final int entry;
+    private volatile boolean loaded;
+    private boolean loading;
+
+    LazyJsonObject(LazyDocument document, int entry) {
+        this.document = document;
+        this.entry = entry;
+    }
+
+    protected void materialize() {
+        if(loaded)
+            return;
+        synchronized (document) {
+            if(loaded || loading)
+                return;
+            loading = true;
+            try {
+                document.fillObject(this, entry);
+                loaded = true;
+            } finally {
+                loading = false;
+            }
+        }
+    }
+
+}
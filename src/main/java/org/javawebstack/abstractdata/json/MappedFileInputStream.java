@@ -0,0 +1,112 @@
+package org.javawebstack.abstractdata.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+class MappedFileInputStream extends InputStream {
+
+    private static final long DEFAULT_WINDOW_SIZE = 1L << 28;
+    private static final Consumer<ByteBuffer> UNMAPPER = createUnmapper();
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    MappedFileInputStream(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileInputStream(Path path, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    public int read() throws IOException {
+        if(!nextWindow())
+            return -1;
+        return window.get() & 0xFF;
+    }
+
+    public int read(byte[] b, int off, int len) throws IOException {
+        if(len == 0)
+            return 0;
+        if(!nextWindow())
+            return -1;
+        int n = Math.min(len, window.remaining());
+        window.get(b, off, n);
+        return n;
+    }
+
+    public void close() throws IOException {
+        try {
+            release();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private boolean nextWindow() throws IOException {
+        if(window != null && window.hasRemaining())
+            return true;
+        if(window != null) {
+            windowStart += window.capacity();
+            release();
+        }
+        if(windowStart >= size)
+            return false;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(windowSize, size - windowStart));
+        return true;
+    }
+
+    private void release() {
+        MappedByteBuffer released = window;
+        window = null;
+        if(released != null && UNMAPPER != null)
+            UNMAPPER.accept(released);
+    }
+
+    // Mapped windows are otherwise only unmapped once they are garbage collected, which keeps address space
+    // (and on Windows the file lock) alive. Without access to the JDK cleaner the windows are left to the GC.
+    private static Consumer<ByteBuffer> createUnmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return buffer -> {
+                try {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } catch (ReflectiveOperationException ignored) {
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+        }
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                try {
+                    Object c = cleaner.invoke(buffer);
+                    if(c != null)
+                        clean.invoke(c);
+                } catch (ReflectiveOperationException ignored) {
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,280 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractElement;
+import org.javawebstack.abstractdata.exception.JsonParseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class NdjsonReader implements Iterable<AbstractElement>, Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 65536;
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final InputStream stream;
+    private final JsonParser parser;
+    private byte[] buf = new byte[DEFAULT_BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private long line;
+    private int lineStart;
+    private int lineEnd;
+
+    private boolean parallel;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private boolean iterating;
+
+    public NdjsonReader(InputStream stream) {
+        this(stream, new JsonParser());
+    }
+
+    public NdjsonReader(InputStream stream, JsonParser parser) {
+        this.stream = stream;
+        this.parser = parser;
+    }
+
+    public NdjsonReader setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    public NdjsonReader setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public NdjsonReader setChunkSize(int chunkSize) {
+        if(chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be positive");
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public Iterator<AbstractElement> iterator() {
+        if(iterating)
+            throw new IllegalStateException("NdjsonReader can only be iterated once");
+        iterating = true;
+        return parallel ? new ParallelIterator() : new SerialIterator();
+    }
+
+    public Stream<AbstractElement> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void close() throws IOException {
+        stream.close();
+    }
+
+    private boolean nextLine() throws IOException {
+        while (true) {
+            int nl = indexOf((byte) '\n', pos, limit);
+            if(nl == -1) {
+                if(!eof) {
+                    fill();
+                    continue;
+                }
+                if(pos == limit)
+                    return false;
+                nl = limit;
+            }
+            line++;
+            lineStart = pos;
+            lineEnd = nl;
+            pos = Math.min(nl + 1, limit);
+            if(!isBlank(buf, lineStart, lineEnd))
+                return true;
+        }
+    }
+
+    private Chunk nextChunk() throws IOException {
+        while (!eof && limit - pos < chunkSize)
+            fill();
+        if(pos == limit)
+            return null;
+        int end = limit;
+        if(!eof) {
+            int nl = lastIndexOf((byte) '\n', pos, limit);
+            while (nl == -1 && !eof) {
+                int scanned = limit - pos;
+                fill();
+                nl = indexOf((byte) '\n', pos + scanned, limit);
+            }
+            end = nl == -1 ? limit : nl + 1;
+        }
+        Chunk chunk = new Chunk(Arrays.copyOfRange(buf, pos, end), line);
+        for(int i=pos; i<end; i++) {
+            if(buf[i] == '\n')
+                line++;
+        }
+        pos = end;
+        return chunk;
+    }
+
+    private void fill() throws IOException {
+        if(pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if(limit == buf.length)
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        int read = stream.read(buf, limit, buf.length - limit);
+        if(read == -1) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private static AbstractElement parseLine(JsonParser parser, byte[] bytes, int start, int end, long line, boolean owned) {
+        if(end > start && bytes[end - 1] == '\r')
+            end--;
+        try {
+            return owned ? parser.parseOwned(bytes, start, end - start) : parser.parse(bytes, start, end - start);
+        } catch (ParseException e) {
+            throw new JsonParseException("Invalid record at line " + line + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte b, int from, int to) {
+        for(int i=from; i<to; i++) {
+            if(bytes[i] == b)
+                return i;
+        }
+        return -1;
+    }
+
+    private int indexOf(byte b, int from, int to) {
+        return indexOf(buf, b, from, to);
+    }
+
+    private int lastIndexOf(byte b, int from, int to) {
+        for(int i=to-1; i>=from; i--) {
+            if(buf[i] == b)
+                return i;
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(byte[] bytes, int start, int end) {
+        for(int i=start; i<end; i++) {
+            switch (bytes[i]) {
+                case ' ':
+                case '\t':
+                case '\r':
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Chunk {
+
+        private final byte[] bytes;
+        private final long firstLine;
+
+        private Chunk(byte[] bytes, long firstLine) {
+            this.bytes = bytes;
+            this.firstLine = firstLine;
+        }
+
+    }
+
+    private class SerialIterator implements Iterator<AbstractElement> {
+
+        private boolean ready;
+
+        public boolean hasNext() {
+            if(!ready) {
+                try {
+                    ready = nextLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return ready;
+        }
+
+        public AbstractElement next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+            ready = false;
+            return parseLine(parser, buf, lineStart, lineEnd, line, false);
+        }
+
+    }
+
+    private class ParallelIterator implements Iterator<AbstractElement> {
+
+        private final Deque<ForkJoinTask<List<AbstractElement>>> pending = new ArrayDeque<>();
+        private Iterator<AbstractElement> current = Collections.emptyIterator();
+        private boolean exhausted;
+
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                submit();
+                if(pending.isEmpty())
+                    return false;
+                current = pending.poll().join().iterator();
+            }
+            return true;
+        }
+
+        public AbstractElement next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+            return current.next();
+        }
+
+        private void submit() {
+            try {
+                while (!exhausted && pending.size() < pool.getParallelism() * 2) {
+                    Chunk chunk = nextChunk();
+                    if(chunk == null) {
+                        exhausted = true;
+                        break;
+                    }
+                    pending.add(pool.submit(() -> parseChunk(chunk)));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private List<AbstractElement> parseChunk(Chunk chunk) {
+            List<AbstractElement> records = new ArrayList<>();
+            byte[] bytes = chunk.bytes;
+            long line = chunk.firstLine;
+            int start = 0;
+            while (start < bytes.length) {
+                int nl = indexOf(bytes, (byte) '\n', start, bytes.length);
+                int end = nl == -1 ? bytes.length : nl;
+                line++;
+                if(!isBlank(bytes, start, end))
+                    records.add(parseLine(parser, bytes, start, end, line, true));
+                start = end + 1;
+            }
+            return records;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractElement;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+public class NdjsonWriter implements Closeable, Flushable {
+
+    private final Writer writer;
+    private final JsonDumper dumper;
+
+    public NdjsonWriter(OutputStream stream) {
+        this(stream, new JsonDumper());
+    }
+
+    public NdjsonWriter(OutputStream stream, JsonDumper dumper) {
+        this(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)), dumper);
+    }
+
+    public NdjsonWriter(Writer writer) {
+        this(writer, new JsonDumper());
+    }
+
+    public NdjsonWriter(Writer writer, JsonDumper dumper) {
+        if(dumper.isPretty())
+            throw new IllegalArgumentException("NDJSON records can not be written with a pretty JsonDumper");
+        this.writer = writer;
+        this.dumper = dumper;
+    }
+
+    public NdjsonWriter write(AbstractElement element) throws IOException {
+        dumper.dump(element, writer);
+        writer.write('\n');
+        return this;
+    }
+
+    public NdjsonWriter writeAll(Iterable<? extends AbstractElement> elements) throws IOException {
+        for(AbstractElement element : elements)
+            write(element);
+        return this;
+    }
+
+    public NdjsonWriter writeAll(Stream<? extends AbstractElement> elements) throws IOException {
+        try {
+            elements.forEachOrdered(e -> {
+                try {
+                    write(e);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        return this;
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    public void close() throws IOException {
+        writer.close();
+    }
+
+}
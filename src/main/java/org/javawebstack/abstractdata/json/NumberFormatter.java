@@ -0,0 +1,297 @@
+package org.javawebstack.abstractdata.json;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+final class NumberFormatter {
+
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long MASK_63 = (1L << 63) - 1;
+
+    private final char[] digits = new char[24];
+    private long decimal;
+    private int exponent;
+
+    void write(Number number, Appendable out) throws IOException {
+        if(number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte)
+            writeLong(number.longValue(), out);
+        else if(number instanceof Double)
+            writeDouble(number.doubleValue(), out);
+        else if(number instanceof Float)
+            writeFloat(number.floatValue(), out);
+        else
+            out.append(number.toString());
+    }
+
+    void writeLong(long value, Appendable out) throws IOException {
+        if(value == Long.MIN_VALUE) {
+            out.append("-9223372036854775808");
+            return;
+        }
+        if(value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        append(out, pos, digits.length - pos);
+    }
+
+    void writeDouble(double value, Appendable out) throws IOException {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & ((1L << 52) - 1);
+        int bq = (int) (bits >>> 52) & 0x7FF;
+        if(bq == 0x7FF) {
+            out.append(Double.toString(value));
+            return;
+        }
+        if(bits < 0)
+            out.append('-');
+        if(bq != 0) {
+            int mq = 1075 - bq;
+            long c = (1L << 52) | t;
+            if(0 < mq && mq < 53 && (c >> mq) << mq == c) {
+                decimal = c >> mq;
+                exponent = 0;
+            } else {
+                toDecimal(-mq, c, 0);
+            }
+        } else if(t != 0) {
+            if(t < 3)
+                toDecimal(-1074, 10 * t, -1);
+            else
+                toDecimal(-1074, t, 0);
+        } else {
+            out.append("0.0");
+            return;
+        }
+        writeDecimal(out);
+    }
+
+    void writeFloat(float value, Appendable out) throws IOException {
+        int bits = Float.floatToRawIntBits(value);
+        int t = bits & ((1 << 23) - 1);
+        int bq = (bits >>> 23) & 0xFF;
+        if(bq == 0xFF) {
+            out.append(Float.toString(value));
+            return;
+        }
+        if(bits < 0)
+            out.append('-');
+        if(bq != 0) {
+            int mq = 150 - bq;
+            int c = (1 << 23) | t;
+            if(0 < mq && mq < 24 && (c >> mq) << mq == c) {
+                decimal = c >> mq;
+                exponent = 0;
+            } else {
+                toDecimal(-mq, c, 0);
+            }
+        } else if(t != 0) {
+            if(t < 8)
+                toDecimal(-149, 10 * t, -1);
+            else
+                toDecimal(-149, t, 0);
+        } else {
+            out.append("0.0");
+            return;
+        }
+        writeDecimal(out);
+    }
+
+    private void toDecimal(int q, long c, int dk) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if(c != (1L << 52) || q == -1074) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+        long g1 = Powers.g1(k);
+        long g0 = Powers.g0(k);
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if(s >= 100) {
+            long sp10 = 10 * DoubleParser.multiplyHigh(s, 115292150460684698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if(upin != wpin) {
+                decimal = upin ? sp10 : tp10;
+                exponent = k;
+                return;
+            }
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if(uin != win) {
+            decimal = uin ? s : t;
+        } else {
+            long cmp = vb - (s + t << 1);
+            decimal = cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t;
+        }
+        exponent = k + dk;
+    }
+
+    private void toDecimal(int q, int c, int dk) {
+        int out = c & 0x1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if(c != (1 << 23) || q == -149) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+        long g = Powers.g1(k) + 1;
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if(s >= 100) {
+            int sp10 = 10 * (int) (s * 1717986919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if(upin != wpin) {
+                decimal = upin ? sp10 : tp10;
+                exponent = k;
+                return;
+            }
+        }
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if(uin != win) {
+            decimal = uin ? s : t;
+        } else {
+            int cmp = vb - (s + t << 1);
+            decimal = cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t;
+        }
+        exponent = k + dk;
+    }
+
+    private void writeDecimal(Appendable out) throws IOException {
+        long f = decimal;
+        int e = exponent;
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + f % 10);
+            f /= 10;
+        } while (f != 0);
+        int length = digits.length - pos;
+        int point = length + e;
+        if(point > 0 && point <= 7) {
+            if(length <= point) {
+                append(out, pos, length);
+                for(int i=length; i<point; i++)
+                    out.append('0');
+                out.append(".0");
+            } else {
+                append(out, pos, point);
+                out.append('.');
+                append(out, pos + point, length - point);
+            }
+        } else if(point > -3 && point <= 0) {
+            out.append("0.");
+            for(int i=point; i<0; i++)
+                out.append('0');
+            append(out, pos, length);
+        } else {
+            out.append(digits[pos]).append('.');
+            if(length > 1)
+                append(out, pos + 1, length - 1);
+            else
+                out.append('0');
+            out.append('E');
+            writeLong(point - 1, out);
+        }
+    }
+
+    private void append(Appendable out, int offset, int length) throws IOException {
+        for(int i=offset; i<offset+length; i++)
+            out.append(digits[i]);
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = DoubleParser.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = DoubleParser.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int rop(long g, long cp) {
+        long x1 = DoubleParser.multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | (x1 & 0xFFFFFFFFL) + 0xFFFFFFFFL >>> 32);
+    }
+
+    private static int flog10pow2(int e) {
+        return (int) (e * 661971961083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661971961083L + -274743187321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int) (e * 913124641741L >> 38);
+    }
+
+    private static final class Powers {
+
+        private static final long[] TABLE = new long[(K_MAX - K_MIN + 1) * 2];
+
+        static {
+            BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+            for(int k = K_MIN; k <= K_MAX; k++) {
+                BigInteger g;
+                if(k <= 0) {
+                    BigInteger power = BigInteger.TEN.pow(-k);
+                    int r = power.bitLength() - 126;
+                    g = (r >= 0 ? power.shiftRight(r) : power.shiftLeft(-r)).add(BigInteger.ONE);
+                } else {
+                    BigInteger power = BigInteger.TEN.pow(k);
+                    g = BigInteger.ONE.shiftLeft(power.bitLength() + 125).divide(power).add(BigInteger.ONE);
+                }
+                TABLE[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+                TABLE[(k - K_MIN) << 1 | 1] = g.and(mask).longValue();
+            }
+        }
+
+        private static long g1(int k) {
+            return TABLE[(k - K_MIN) << 1];
+        }
+
+        private static long g0(int k) {
+            return TABLE[(k - K_MIN) << 1 | 1];
+        }
+
+    }
+
+}
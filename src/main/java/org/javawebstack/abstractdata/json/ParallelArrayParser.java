@@ -0,0 +1,206 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractArray;
+import org.javawebstack.abstractdata.AbstractElement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+final class ParallelArrayParser {
+
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final long QUOTES = ONES * '"';
+    private static final long BACKSLASHES = ONES * '\\';
+    private static final long COMMAS = ONES * ',';
+    private static final long CASE_BITS = ONES * 0x20;
+    private static final long OPEN_BRACKETS = ONES * '{';
+    private static final long CLOSE_BRACKETS = ONES * '}';
+
+    private final JsonReader reader;
+    private final byte[] bytes;
+    private final ByteBuffer words;
+    private final int limit;
+
+    private int[] cuts = new int[16];
+    private int[] ends = new int[16];
+    private int chunks;
+    private int close;
+
+    private ParallelArrayParser(JsonReader reader) {
+        this.reader = reader;
+        this.bytes = reader.utf8Buffer();
+        this.words = bytes != null ? ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN) : null;
+        this.limit = reader.limit();
+    }
+
+    static AbstractArray parse(JsonParser parser, JsonReader source, ForkJoinPool pool) throws ParseException {
+        int open = source.position();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (source.limit() - open) / (pool.getParallelism() * 4));
+        ParallelArrayParser split = new ParallelArrayParser(source);
+        split.scan(open, chunkSize);
+
+        List<ForkJoinTask<List<AbstractElement>>> tasks = new ArrayList<>(split.chunks + 1);
+        AbstractArray array = new AbstractArray();
+        try {
+            for(int i=0; i<=split.chunks; i++) {
+                int start = i == 0 ? open + 1 : split.cuts[i - 1];
+                int end = i == split.chunks ? -1 : split.ends[i];
+                boolean first = i == 0;
+                tasks.add(pool.submit(() -> parseChunk(parser, new JsonReader(source), start, first, end)));
+            }
+            for(ForkJoinTask<List<AbstractElement>> task : tasks) {
+                for(AbstractElement element : task.get())
+                    array.add(element);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            for(Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if(cause instanceof ParseException)
+                    throw (ParseException) cause;
+            }
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        } finally {
+            for(ForkJoinTask<List<AbstractElement>> task : tasks)
+                task.cancel(false);
+        }
+        source.skipTo(split.close + 1);
+        return array;
+    }
+
+    private static List<AbstractElement> parseChunk(JsonParser parser, JsonReader reader, int start, boolean first, int end) throws ParseException {
+        List<AbstractElement> elements = new ArrayList<>();
+        try {
+            reader.resumeArray(start, first);
+            if(end < 0) {
+                while (reader.hasNext())
+                    elements.add(parser.parseTree(reader));
+                reader.endArray();
+            } else {
+                while (reader.position() < end)
+                    elements.add(parser.parseTree(reader));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return elements;
+    }
+
+    private void scan(int open, int chunkSize) throws ParseException {
+        int depth = 0;
+        int chunkStart = open;
+        int i = open;
+        while (true) {
+            i = nextStructural(i);
+            if(i >= limit)
+                throw reader.unexpected(limit);
+            switch (reader.at(i)) {
+                case '"':
+                    i = closingQuote(i + 1);
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if(--depth == 0) {
+                        close = i;
+                        return;
+                    }
+                    break;
+                case ',':
+                    if(depth == 1 && i - chunkStart >= chunkSize) {
+                        cut(i);
+                        chunkStart = i;
+                    }
+                    break;
+            }
+            i++;
+        }
+    }
+
+    private void cut(int comma) {
+        int end = comma;
+        while (isWhitespace(reader.at(end - 1)))
+            end--;
+        if(chunks == cuts.length) {
+            cuts = Arrays.copyOf(cuts, chunks * 2);
+            ends = Arrays.copyOf(ends, chunks * 2);
+        }
+        cuts[chunks] = comma;
+        ends[chunks] = end;
+        chunks++;
+    }
+
+    private int nextStructural(int i) {
+        if(bytes != null) {
+            for(; i + 8 <= limit; i += 8) {
+                long word = words.getLong(i);
+                long folded = word | CASE_BITS;
+                long found = matches(word, QUOTES) | matches(word, COMMAS) | matches(folded, OPEN_BRACKETS) | matches(folded, CLOSE_BRACKETS);
+                if(found != 0)
+                    return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for(; i < limit; i++) {
+            switch (reader.at(i)) {
+                case '"':
+                case ',':
+                case '{':
+                case '}':
+                case '[':
+                case ']':
+                    return i;
+            }
+        }
+        return limit;
+    }
+
+    private int closingQuote(int i) throws ParseException {
+        while (true) {
+            if(bytes != null) {
+                for(; i + 8 <= limit; i += 8) {
+                    long word = words.getLong(i);
+                    long found = matches(word, QUOTES) | matches(word, BACKSLASHES);
+                    if(found != 0) {
+                        i += Long.numberOfTrailingZeros(found) >>> 3;
+                        break;
+                    }
+                }
+            }
+            while (i < limit && reader.at(i) != '"' && reader.at(i) != '\\')
+                i++;
+            if(i >= limit)
+                throw reader.unexpected(limit);
+            if(reader.at(i) == '"')
+                return i;
+            i += 2;
+        }
+    }
+
+    private static long matches(long word, long pattern) {
+        long v = word ^ pattern;
+        return (v - ONES) & ~v & HIGHS;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\b';
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractPath;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+final class Projection {
+
+    private final Map<String, Projection> children = new HashMap<>();
+    private Projection wildcard;
+    private boolean terminal;
+    private int maxIndex = -1;
+
+    static Projection of(Collection<String> paths) {
+        Projection root = new Projection();
+        for(String path : paths) {
+            AbstractPath compiled = AbstractPath.compile(path);
+            Projection node = root;
+            for(int i=0; i<compiled.size(); i++) {
+                String segment = compiled.get(i);
+                if(compiled.isIndex(i))
+                    node.maxIndex = Math.max(node.maxIndex, compiled.getIndex(i));
+                if(segment.equals("*")) {
+                    if(node.wildcard == null)
+                        node.wildcard = new Projection();
+                    node = node.wildcard;
+                } else {
+                    node = node.children.computeIfAbsent(segment, k -> new Projection());
+                }
+            }
+            node.terminal = true;
+        }
+        root.normalize();
+        return root;
+    }
+
+    boolean isTerminal() {
+        return terminal;
+    }
+
+    Projection child(String key) {
+        Projection child = children.get(key);
+        return child != null ? child : wildcard;
+    }
+
+    Projection child(int index) {
+        if(children.isEmpty())
+            return wildcard;
+        return child(String.valueOf(index));
+    }
+
+    boolean hasIndexAfter(int index) {
+        return wildcard != null || maxIndex > index;
+    }
+
+    private void normalize() {
+        if(wildcard != null) {
+            wildcard.normalize();
+            children.replaceAll((key, child) -> merge(child, wildcard));
+        }
+        children.values().forEach(Projection::normalize);
+    }
+
+    private static Projection merge(Projection a, Projection b) {
+        Projection merged = new Projection();
+        merged.terminal = a.terminal || b.terminal;
+        merged.maxIndex = Math.max(a.maxIndex, b.maxIndex);
+        merged.children.putAll(a.children);
+        b.children.forEach((key, child) -> merged.children.merge(key, child, Projection::merge));
+        if(a.wildcard == null || b.wildcard == null)
+            merged.wildcard = a.wildcard != null ? a.wildcard : b.wildcard;
+        else
+            merged.wildcard = merge(a.wildcard, b.wildcard);
+        return merged;
+    }
+
+}
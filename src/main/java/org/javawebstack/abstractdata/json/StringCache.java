@@ -0,0 +1,65 @@
+package org.javawebstack.abstractdata.json;
+
+import java.nio.charset.StandardCharsets;
+
+final class StringCache {
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    private final String[] table;
+    private final int mask;
+
+    StringCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    StringCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+        this.table = new String[size];
+        this.mask = size - 1;
+    }
+
+    String get(char[] chars, int start, int length, int hash) {
+        int slot = slot(hash);
+        String cached = table[slot];
+        if(cached != null && cached.length() == length && cached.hashCode() == hash) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == chars[start + i])
+                i++;
+            if(i == length)
+                return cached;
+        }
+        String s = new String(chars, start, length);
+        table[slot] = s;
+        return s;
+    }
+
+    String get(byte[] ascii, int start, int length, int hash) {
+        int slot = slot(hash);
+        String cached = table[slot];
+        if(cached != null && cached.length() == length && cached.hashCode() == hash) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == ascii[start + i])
+                i++;
+            if(i == length)
+                return cached;
+        }
+        String s = new String(ascii, start, length, StandardCharsets.ISO_8859_1);
+        table[slot] = s;
+        return s;
+    }
+
+    String get(String s) {
+        int slot = slot(s.hashCode());
+        String cached = table[slot];
+        if(s.equals(cached))
+            return cached;
+        table[slot] = s;
+        return s;
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+}
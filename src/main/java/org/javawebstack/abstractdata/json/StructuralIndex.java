@@ -0,0 +1,83 @@
+package org.javawebstack.abstractdata.json;
+
+import java.text.ParseException;
+import java.util.Arrays;
+
+final class StructuralIndex {
+
+    private int[] positions = new int[64];
+    private int[] partners = new int[64];
+    private int size;
+
+    private StructuralIndex() {
+    }
+
+    static StructuralIndex build(JsonReader reader, int start) throws ParseException {
+        StructuralIndex index = new StructuralIndex();
+        int[] open = new int[32];
+        int depth = 0;
+        int limit = reader.limit();
+        for(int i=start; i<limit; i++) {
+            int c = reader.at(i);
+            switch (c) {
+                case '"':
+                    i++;
+                    while (i < limit) {
+                        c = reader.at(i);
+                        if(c == '"')
+                            break;
+                        i += c == '\\' ? 2 : 1;
+                    }
+                    if(i >= limit)
+                        throw reader.unexpected(limit);
+                    break;
+                case '{':
+                case '[':
+                    if(depth >= reader.getMaxDepth())
+                        throw reader.depthExceeded(i);
+                    if(depth == open.length)
+                        open = Arrays.copyOf(open, depth * 2);
+                    open[depth++] = index.add(i);
+                    break;
+                case '}':
+                case ']': {
+                    if(depth == 0 || reader.at(index.positions[open[depth - 1]]) != (c == '}' ? '{' : '['))
+                        throw reader.unexpected(i);
+                    int opening = open[--depth];
+                    int closing = index.add(i);
+                    index.partners[opening] = closing;
+                    index.partners[closing] = opening;
+                    if(depth == 0) {
+                        index.positions = Arrays.copyOf(index.positions, index.size);
+                        index.partners = Arrays.copyOf(index.partners, index.size);
+                        return index;
+                    }
+                    break;
+                }
+            }
+        }
+        throw reader.unexpected(limit);
+    }
+
+    private int add(int position) {
+        if(size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            partners = Arrays.copyOf(partners, size * 2);
+        }
+        positions[size] = position;
+        return size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int position(int entry) {
+        return positions[entry];
+    }
+
+    int partner(int entry) {
+        return partners[entry];
+    }
+
+}
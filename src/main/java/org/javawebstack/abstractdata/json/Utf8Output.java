@@ -0,0 +1,153 @@
+package org.javawebstack.abstractdata.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+final class Utf8Output implements Appendable {
+
+    private static final int DEFAULT_SIZE = 8192;
+    private static final int MAX_POOLED_SIZE = 1 << 20;
+    private static final ThreadLocal<Utf8Output> POOL = ThreadLocal.withInitial(Utf8Output::new);
+
+    private byte[] buf = new byte[DEFAULT_SIZE];
+    private int count;
+    private OutputStream stream;
+    private WritableByteChannel channel;
+    private char highSurrogate;
+    private boolean inUse;
+
+    static Utf8Output acquire() {
+        Utf8Output output = POOL.get();
+        if(output.inUse)
+            output = new Utf8Output();
+        output.inUse = true;
+        return output;
+    }
+
+    void release() {
+        stream = null;
+        channel = null;
+        count = 0;
+        highSurrogate = 0;
+        if(buf.length > MAX_POOLED_SIZE)
+            buf = new byte[DEFAULT_SIZE];
+        inUse = false;
+    }
+
+    Utf8Output to(OutputStream stream) {
+        this.stream = stream;
+        return this;
+    }
+
+    Utf8Output to(WritableByteChannel channel) {
+        this.channel = channel;
+        return this;
+    }
+
+    public Utf8Output append(CharSequence csq) throws IOException {
+        return append(csq, 0, csq.length());
+    }
+
+    public Utf8Output append(CharSequence csq, int start, int end) throws IOException {
+        for(int i=start; i<end; i++) {
+            char c = csq.charAt(i);
+            if(c < 0x80 && highSurrogate == 0) {
+                if(count == buf.length)
+                    ensure(1);
+                buf[count++] = (byte) c;
+            } else {
+                write(c);
+            }
+        }
+        return this;
+    }
+
+    public Utf8Output append(char c) throws IOException {
+        if(c < 0x80 && highSurrogate == 0) {
+            if(count == buf.length)
+                ensure(1);
+            buf[count++] = (byte) c;
+        } else {
+            write(c);
+        }
+        return this;
+    }
+
+    void flush() throws IOException {
+        finish();
+        drain();
+        if(stream != null)
+            stream.flush();
+    }
+
+    byte[] toByteArray() {
+        finish();
+        return Arrays.copyOf(buf, count);
+    }
+
+    private void write(char c) throws IOException {
+        ensure(4);
+        if(highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if(Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buf[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            buf[count++] = '?';
+        }
+        if(c < 0x80) {
+            buf[count++] = (byte) c;
+        } else if(c < 0x800) {
+            buf[count++] = (byte) (0xC0 | (c >> 6));
+            buf[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if(Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if(Character.isLowSurrogate(c)) {
+            buf[count++] = '?';
+        } else {
+            buf[count++] = (byte) (0xE0 | (c >> 12));
+            buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buf[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void finish() {
+        if(highSurrogate != 0) {
+            highSurrogate = 0;
+            if(count == buf.length)
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            buf[count++] = '?';
+        }
+    }
+
+    private void ensure(int length) throws IOException {
+        if(buf.length - count >= length)
+            return;
+        drain();
+        if(buf.length - count < length)
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + length));
+    }
+
+    private void drain() throws IOException {
+        if(count == 0)
+            return;
+        if(stream != null) {
+            stream.write(buf, 0, count);
+            count = 0;
+        } else if(channel != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(buf, 0, count);
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            count = 0;
+        }
+    }
+
+}
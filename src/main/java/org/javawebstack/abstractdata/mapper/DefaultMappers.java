@@ -2,11 +2,15 @@ package org.javawebstack.abstractdata.mapper;
 
 import org.javawebstack.abstractdata.*;
 import org.javawebstack.abstractdata.exception.AbstractCoercingException;
+import org.javawebstack.abstractdata.json.JsonParser;
+import org.javawebstack.abstractdata.json.JsonReader;
+import org.javawebstack.abstractdata.json.JsonWriter;
 import org.javawebstack.abstractdata.mapper.annotation.DateFormat;
 import org.javawebstack.abstractdata.mapper.exception.MapperException;
 import org.javawebstack.abstractdata.mapper.exception.MapperWrongTypeException;
 import org.javawebstack.abstractdata.util.Helpers;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.Timestamp;
@@ -14,7 +18,6 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
 
 public final class DefaultMappers {
 
@@ -50,10 +53,21 @@ public final class DefaultMappers {
 
         public AbstractElement toAbstract(MapperContext context, Object value) throws MapperException {
             if (value instanceof String)
-                return new AbstractPrimitive((String) value);
+                return AbstractPrimitive.valueOf((String) value);
             if (value instanceof Boolean)
-                return new AbstractPrimitive((Boolean) value);
-            return new AbstractPrimitive((Number) value);
+                return AbstractPrimitive.valueOf((Boolean) value);
+            return AbstractPrimitive.valueOf((Number) value);
+        }
+
+        public void writeJson(MapperContext context, Object value, JsonWriter writer) throws MapperException, IOException {
+            if (value instanceof String)
+                writer.value((String) value);
+            else if (value instanceof Boolean)
+                writer.value((Boolean) value);
+            else if (value instanceof Number)
+                writer.value((Number) value);
+            else
+                MapperTypeAdapter.super.writeJson(context, value, writer);
         }
 
         public Object fromAbstract(MapperContext context, AbstractElement element, Class<?> type) throws MapperException {
@@ -99,6 +113,31 @@ public final class DefaultMappers {
             throw new MapperWrongTypeException(context.getFieldName(), "primitive", Helpers.typeName(element));
         }
 
+        public Object readJson(MapperContext context, JsonReader reader, Class<?> type) throws MapperException, IOException, ParseException {
+            JsonReader.Token token = reader.peek();
+            if (token == JsonReader.Token.STRING && type.equals(String.class))
+                return reader.nextString();
+            if (token == JsonReader.Token.BOOLEAN && (type.equals(Boolean.class) || type.equals(boolean.class)))
+                return reader.nextBoolean();
+            if (token == JsonReader.Token.NUMBER && (Number.class.isAssignableFrom(type) || type.isPrimitive()) && !type.equals(char.class) && !type.equals(boolean.class)) {
+                Number number = reader.nextNumber();
+                if (type.equals(int.class) || type.equals(Integer.class))
+                    return number.intValue();
+                if (type.equals(long.class) || type.equals(Long.class))
+                    return number.longValue();
+                if (type.equals(short.class) || type.equals(Short.class))
+                    return number.shortValue();
+                if (type.equals(double.class) || type.equals(Double.class))
+                    return number.doubleValue();
+                if (type.equals(float.class) || type.equals(Float.class))
+                    return number.floatValue();
+                if (type.equals(byte.class) || type.equals(Byte.class))
+                    return number.byteValue();
+                return number;
+            }
+            return MapperTypeAdapter.super.readJson(context, reader, type);
+        }
+
         public Class<?>[] getSupportedTypes() {
             return new Class[]{
                     String.class,
@@ -134,6 +173,13 @@ public final class DefaultMappers {
             return array;
         }
 
+        public void writeJson(MapperContext context, Object value, JsonWriter writer) throws MapperException, IOException {
+            writer.beginArray();
+            for (Object e : (Collection<?>) value)
+                context.getMapper().writeJson(e, writer);
+            writer.endArray();
+        }
+
         public Object fromAbstract(MapperContext context, AbstractElement element, Class<?> type) throws MapperException {
             if (type.equals(List.class) || type.equals(Collection.class) || type.equals(AbstractList.class))
                 type = ArrayList.class;
@@ -160,6 +206,27 @@ public final class DefaultMappers {
             }
         }
 
+        public Object readJson(MapperContext context, JsonReader reader, Class<?> type) throws MapperException, IOException, ParseException {
+            Class<?>[] genericTypes = context.getGenericTypes();
+            if (genericTypes.length == 0 || reader.peek() != JsonReader.Token.BEGIN_ARRAY)
+                return MapperTypeAdapter.super.readJson(context, reader, type);
+            if (type.equals(List.class) || type.equals(Collection.class) || type.equals(AbstractList.class))
+                type = ArrayList.class;
+            if (type.equals(Set.class))
+                type = HashSet.class;
+            try {
+                @SuppressWarnings("unchecked")
+                Collection<Object> collection = (Collection<Object>) type.getDeclaredConstructor().newInstance();
+                reader.beginArray();
+                while (reader.hasNext())
+                    collection.add(context.getMapper().readJson(reader, genericTypes[0]));
+                reader.endArray();
+                return collection;
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
         public Class<?>[] getSupportedTypes() {
             return new Class[]{
                     Collection.class,
@@ -195,6 +262,15 @@ public final class DefaultMappers {
             return object;
         }
 
+        public void writeJson(MapperContext context, Object value, JsonWriter writer) throws MapperException, IOException {
+            writer.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writer.name(entry.getKey().toString());
+                context.getMapper().writeJson(entry.getValue(), writer);
+            }
+            writer.endObject();
+        }
+
         public Object fromAbstract(MapperContext context, AbstractElement element, Class<?> type) throws MapperException {
             if (type.equals(Map.class) || type.equals(AbstractMap.class))
                 type = HashMap.class;
@@ -211,7 +287,7 @@ public final class DefaultMappers {
                     }
                 }
                 for (String k : element.object().keys())
-                    map.put(context.getMapper().map(new AbstractPrimitive(k), keyType), context.getMapper().map(element.object().get(k), valueType));
+                    map.put(context.getMapper().map(AbstractPrimitive.valueOf(k), keyType), context.getMapper().map(element.object().get(k), valueType));
                 return map;
             } catch (InstantiationException | IllegalAccessException e) {
                 throw new RuntimeException(e);
@@ -220,6 +296,28 @@ public final class DefaultMappers {
             }
         }
 
+        public Object readJson(MapperContext context, JsonReader reader, Class<?> type) throws MapperException, IOException, ParseException {
+            Class<?>[] genericTypes = context.getGenericTypes();
+            if (genericTypes.length < 2 || reader.peek() != JsonReader.Token.BEGIN_OBJECT)
+                return MapperTypeAdapter.super.readJson(context, reader, type);
+            if (type.equals(Map.class) || type.equals(AbstractMap.class))
+                type = HashMap.class;
+            try {
+                @SuppressWarnings("unchecked")
+                Map<Object, Object> map = (Map<Object, Object>) type.getDeclaredConstructor().newInstance();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String k = reader.nextName();
+                    Object key = genericTypes[0].equals(String.class) ? k : context.getMapper().map(AbstractPrimitive.valueOf(k), genericTypes[0]);
+                    map.put(key, context.getMapper().readJson(reader, genericTypes[1]));
+                }
+                reader.endObject();
+                return map;
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
         public Class<?>[] getSupportedTypes() {
             return new Class[]{
                     Map.class,
@@ -251,12 +349,12 @@ public final class DefaultMappers {
                     long time = ((Date) value).getTime();
                     if (!df.millis())
                         time /= 1000;
-                    return new AbstractPrimitive(time);
+                    return AbstractPrimitive.valueOf(time);
                 }
                 java.text.DateFormat dateFormat = (df != null && df.value().length() > 0) ? new SimpleDateFormat(df.value()) : context.getMapper().getDateFormat();
                 if (df != null && df.timezone().length() > 0)
                     dateFormat.setTimeZone(TimeZone.getTimeZone(df.timezone()));
-                return new AbstractPrimitive(dateFormat.format((Date) value));
+                return AbstractPrimitive.valueOf(dateFormat.format((Date) value));
             }
             return null;
         }
@@ -307,6 +405,10 @@ public final class DefaultMappers {
             return (AbstractElement) value;
         }
 
+        public void writeJson(MapperContext context, Object value, JsonWriter writer) throws MapperException, IOException {
+            writer.writeElement((AbstractElement) value);
+        }
+
         public Object fromAbstract(MapperContext context, AbstractElement element, Class<?> type) throws MapperException {
             if (type.equals(AbstractElement.class))
                 return element;
@@ -337,9 +439,9 @@ public final class DefaultMappers {
 
         public AbstractElement toAbstract(MapperContext context, Object value) throws MapperException {
             if (value.getClass().isEnum())
-                return new AbstractPrimitive(((Enum<?>) value).name());
+                return AbstractPrimitive.valueOf(((Enum<?>) value).name());
             if (value.getClass().equals(UUID.class))
-                return new AbstractPrimitive(value.toString());
+                return AbstractPrimitive.valueOf(value.toString());
             MapperTypeSpec spec = MapperTypeSpec.get(value.getClass());
             if (spec == null)
                 throw new MapperException("Unmappable type '" + value.getClass().getName() + "'");
@@ -365,6 +467,75 @@ public final class DefaultMappers {
             }
         }
 
+        public void writeJson(MapperContext context, Object value, JsonWriter writer) throws MapperException, IOException {
+            if (getClass() != FallbackMapper.class) {
+                MapperTypeAdapter.super.writeJson(context, value, writer);
+                return;
+            }
+            if (value.getClass().isEnum()) {
+                writer.value(((Enum<?>) value).name());
+                return;
+            }
+            if (value.getClass().equals(UUID.class)) {
+                writer.value(value.toString());
+                return;
+            }
+            MapperTypeSpec spec = MapperTypeSpec.get(value.getClass());
+            if (spec == null)
+                throw new MapperException("Unmappable type '" + value.getClass().getName() + "'");
+            Mapper mapper = context.getMapper();
+            try {
+                AbstractObject additional = spec.getAdditionalField() != null ? (AbstractObject) spec.getAdditionalField().get(value) : null;
+                Set<String> replaced = null;
+                writer.beginObject();
+                for (MapperTypeSpec.FieldSpec fs : spec.getFieldSpecs()) {
+                    if (mapper.isExposeRequired() ? !fs.isExpose() : fs.isHidden())
+                        continue;
+                    String k = fs.getName() != null ? fs.getName() : mapper.getNamingPolicy().toAbstract(fs.getField().getName());
+                    Object v = fs.getField().get(value);
+                    AbstractElement e = null;
+                    if (!isStreamable(mapper, fs, v)) {
+                        e = mapper.map(new MapperContext(mapper, fs.getField(), fs.getAnnotations()).adapter(fs.getAdapter()), v);
+                        if (e.isNull() && mapper.shouldOmitNull() && fs.shouldOmitNull())
+                            continue;
+                    }
+                    writer.name(k);
+                    if (additional != null && additional.has(k)) {
+                        if (replaced == null)
+                            replaced = new HashSet<>();
+                        replaced.add(k);
+                        writer.writeElement(additional.get(k));
+                    } else if (e != null) {
+                        writer.writeElement(e);
+                    } else {
+                        mapper.writeJson(v, writer);
+                    }
+                }
+                if (additional != null) {
+                    for (Map.Entry<String, AbstractElement> entry : additional.entries()) {
+                        if (replaced != null && replaced.contains(entry.getKey()))
+                            continue;
+                        writer.name(entry.getKey());
+                        writer.writeElement(entry.getValue());
+                    }
+                }
+                writer.endObject();
+            } catch (IllegalAccessException ex) {
+                throw new MapperException(ex.getMessage());
+            }
+        }
+
+        private static boolean isStreamable(Mapper mapper, MapperTypeSpec.FieldSpec fs, Object value) {
+            if (value == null)
+                return false;
+            if (value.getClass().isArray())
+                return true;
+            if (fs.getAdapter() != null)
+                return false;
+            MapperTypeAdapter adapter = mapper.findAdapter(value.getClass());
+            return adapter == PRIMITIVE || adapter == COLLECTION || adapter == MAP || adapter == FALLBACK;
+        }
+
         public Object fromAbstract(MapperContext context, AbstractElement element, Class type) throws MapperException {
             if (type.isEnum()) {
                 if (!element.isString())
@@ -388,28 +559,59 @@ public final class DefaultMappers {
                 constructor.setAccessible(true);
                 Object obj = constructor.newInstance();
                 AbstractObject additional = spec.getAdditionalField() == null ? null : new AbstractObject();
-                List<String> fieldNames = spec.getFieldSpecs().stream().map(s -> s.getField().getName()).collect(Collectors.toList());
                 for (String k : o.keys()) {
-                    final String fk1 = k;
-                    MapperTypeSpec.FieldSpec fs = spec.getFieldSpecs().stream().filter(s -> fk1.equals(s.getName())).findFirst().orElse(null);
+                    MapperTypeSpec.FieldSpec fs = findFieldSpec(context.getMapper(), spec, k);
                     if (fs != null) {
                         if (context.getMapper().isExposeRequired() ? !fs.isExpose() : fs.isHidden())
                             continue;
-                        fs.getField().set(obj, context.getMapper().map(new MapperContext(context.getMapper(), fs.getField(), fs.getAnnotations()).adapter(fs.getAdapter()), o.get(fk1), fs.getField().getType()));
+                        fs.getField().set(obj, context.getMapper().map(new MapperContext(context.getMapper(), fs.getField(), fs.getAnnotations()).adapter(fs.getAdapter()), o.get(k), fs.getField().getType()));
                         continue;
                     }
-                    final String fk2 = context.getMapper().getNamingPolicy().fromAbstract(k, fieldNames);
-                    fs = spec.getFieldSpecs().stream().filter(s -> s.getName() == null && fk2.equals(s.getField().getName())).findFirst().orElse(null);
+                    if (additional != null)
+                        additional.set(k, o.get(k));
+                }
+                if (additional != null)
+                    spec.getAdditionalField().set(obj, additional);
+                return obj;
+            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException |
+                     InvocationTargetException e) {
+                throw new MapperException(e.getMessage());
+            }
+        }
+
+        public Object readJson(MapperContext context, JsonReader reader, Class<?> type) throws MapperException, IOException, ParseException {
+            if (getClass() != FallbackMapper.class)
+                return MapperTypeAdapter.super.readJson(context, reader, type);
+            JsonReader.Token token = reader.peek();
+            if (type.isEnum() || type.equals(UUID.class) || token != JsonReader.Token.BEGIN_OBJECT)
+                return MapperTypeAdapter.super.readJson(context, reader, type);
+            MapperTypeSpec spec = MapperTypeSpec.get(type);
+            if (spec == null)
+                throw new MapperException("Unmappable type '" + type.getName() + "'");
+            Mapper mapper = context.getMapper();
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                Object obj = constructor.newInstance();
+                AbstractObject additional = spec.getAdditionalField() == null ? null : new AbstractObject();
+                JsonParser parser = additional == null ? null : new JsonParser().setMaxDepth(reader.getMaxDepth());
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String k = reader.nextName();
+                    MapperTypeSpec.FieldSpec fs = findFieldSpec(mapper, spec, k);
                     if (fs != null) {
-                        if (context.getMapper().isExposeRequired() ? !fs.isExpose() : fs.isHidden())
-                            continue;
-                        Object val = context.getMapper().map(new MapperContext(context.getMapper(), fs.getField(), fs.getAnnotations()).adapter(fs.getAdapter()), o.get(fk1), fs.getField().getType());
-                        fs.getField().set(obj, val);
+                        if (mapper.isExposeRequired() ? !fs.isExpose() : fs.isHidden())
+                            reader.skipValue();
+                        else
+                            fs.getField().set(obj, mapper.readJson(new MapperContext(mapper, fs.getField(), fs.getAnnotations()).adapter(fs.getAdapter()), reader, fs.getField().getType()));
                         continue;
                     }
                     if (additional != null)
-                        additional.set(fk1, o.get(fk1));
+                        additional.set(k, parser.parse(reader));
+                    else
+                        reader.skipValue();
                 }
+                reader.endObject();
                 if (additional != null)
                     spec.getAdditionalField().set(obj, additional);
                 return obj;
@@ -419,6 +621,13 @@ public final class DefaultMappers {
             }
         }
 
+        private static MapperTypeSpec.FieldSpec findFieldSpec(Mapper mapper, MapperTypeSpec spec, String key) {
+            MapperTypeSpec.FieldSpec fs = spec.getFieldSpecByName(key);
+            if (fs != null)
+                return fs;
+            return spec.getFieldSpecByFieldName(mapper.getNamingPolicy().fromAbstract(key, spec.getFieldNames()));
+        }
+
     }
 
 }
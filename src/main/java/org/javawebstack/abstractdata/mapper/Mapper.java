@@ -3,15 +3,25 @@ package org.javawebstack.abstractdata.mapper;
 import org.javawebstack.abstractdata.AbstractArray;
 import org.javawebstack.abstractdata.AbstractElement;
 import org.javawebstack.abstractdata.AbstractNull;
+import org.javawebstack.abstractdata.json.JsonParser;
+import org.javawebstack.abstractdata.json.JsonReader;
+import org.javawebstack.abstractdata.json.JsonWriter;
 import org.javawebstack.abstractdata.mapper.exception.MapperException;
 import org.javawebstack.abstractdata.mapper.exception.MapperWrongTypeException;
 import org.javawebstack.abstractdata.mapper.naming.NamingPolicy;
 import org.javawebstack.abstractdata.util.Helpers;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
 import java.text.DateFormat;
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class Mapper {
@@ -44,7 +54,59 @@ public class Mapper {
         return (T) findAdapter(type).fromAbstract(context, element, type);
     }
 
-    private MapperTypeAdapter findAdapter(Class<?> type) {
+    public <T> T readJson(String json, Class<T> type) throws MapperException, ParseException {
+        return readBuffered(new JsonReader(json), type);
+    }
+
+    public <T> T readJson(byte[] json, Class<T> type) throws MapperException, ParseException {
+        return readBuffered(new JsonReader(json), type);
+    }
+
+    public <T> T readJson(Reader reader, Class<T> type) throws MapperException, IOException, ParseException {
+        return readJson(emptyContext, new JsonReader(reader), type);
+    }
+
+    public <T> T readJson(JsonReader reader, Class<T> type) throws MapperException, IOException, ParseException {
+        return readJson(emptyContext, reader, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T readJson(MapperContext context, JsonReader reader, Class<T> type) throws MapperException, IOException, ParseException {
+        if(type == null) {
+            reader.skipValue();
+            return null;
+        }
+        if(reader.peek() == JsonReader.Token.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if(type.isArray()) {
+            if(reader.peek() != JsonReader.Token.BEGIN_ARRAY)
+                return map(context, new JsonParser().setMaxDepth(reader.getMaxDepth()).parse(reader), type);
+            List<Object> values = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext())
+                values.add(readJson(emptyContext, reader, type.getComponentType()));
+            reader.endArray();
+            Object arr = Array.newInstance(type.getComponentType(), values.size());
+            for(int i=0; i<values.size(); i++)
+                Array.set(arr, i, values.get(i));
+            return (T) arr;
+        }
+        if(context.getAdapter() != null)
+            return (T) context.getAdapter().readJson(context, reader, type);
+        return (T) findAdapter(type).readJson(context, reader, type);
+    }
+
+    private <T> T readBuffered(JsonReader reader, Class<T> type) throws ParseException {
+        try {
+            return readJson(emptyContext, reader, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    MapperTypeAdapter findAdapter(Class<?> type) {
         MapperTypeAdapter adapter = adapters.get(type);
         if(adapter != null)
             return adapter;
@@ -65,6 +127,22 @@ public class Mapper {
             return AbstractNull.VALUE;
         if(obj.getClass().isArray()) {
             AbstractArray array = new AbstractArray();
+            if(mapsPrimitiveArray(obj)) {
+                if(obj instanceof int[]) {
+                    for(int value : (int[]) obj)
+                        array.add(value);
+                } else if(obj instanceof long[]) {
+                    for(long value : (long[]) obj)
+                        array.add(value);
+                } else if(obj instanceof double[]) {
+                    for(double value : (double[]) obj)
+                        array.add(value);
+                } else {
+                    for(boolean value : (boolean[]) obj)
+                        array.add(value);
+                }
+                return array;
+            }
             for(int i=0; i<Array.getLength(obj); i++)
                 array.add(map(Array.get(obj, i)));
             return array;
@@ -74,6 +152,54 @@ public class Mapper {
         return findAdapter(obj.getClass()).toAbstract(context, obj);
     }
 
+    private boolean mapsPrimitiveArray(Object obj) {
+        if(obj instanceof int[])
+            return findAdapter(Integer.class) == DefaultMappers.PRIMITIVE;
+        if(obj instanceof long[])
+            return findAdapter(Long.class) == DefaultMappers.PRIMITIVE;
+        if(obj instanceof double[])
+            return findAdapter(Double.class) == DefaultMappers.PRIMITIVE;
+        if(obj instanceof boolean[])
+            return findAdapter(Boolean.class) == DefaultMappers.PRIMITIVE;
+        return false;
+    }
+
+    public void writeJson(Object obj, Appendable out) throws MapperException, IOException {
+        writeJson(emptyContext, obj, new JsonWriter(out));
+    }
+
+    public void writeJson(Object obj, OutputStream stream) throws MapperException, IOException {
+        JsonWriter writer = new JsonWriter(stream);
+        try {
+            writeJson(emptyContext, obj, writer);
+            writer.flush();
+        } finally {
+            writer.discard();
+        }
+    }
+
+    public void writeJson(Object obj, JsonWriter writer) throws MapperException, IOException {
+        writeJson(emptyContext, obj, writer);
+    }
+
+    public void writeJson(MapperContext context, Object obj, JsonWriter writer) throws MapperException, IOException {
+        if(obj == null) {
+            writer.nullValue();
+            return;
+        }
+        if(obj.getClass().isArray()) {
+            writer.beginArray();
+            for(int i=0; i<Array.getLength(obj); i++)
+                writeJson(emptyContext, Array.get(obj, i), writer);
+            writer.endArray();
+            return;
+        }
+        if(context.getAdapter() != null)
+            context.getAdapter().writeJson(context, obj, writer);
+        else
+            findAdapter(obj.getClass()).writeJson(context, obj, writer);
+    }
+
     public Mapper strict() {
         return strict(true);
     }
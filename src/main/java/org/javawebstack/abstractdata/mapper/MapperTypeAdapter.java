@@ -1,12 +1,24 @@
 package org.javawebstack.abstractdata.mapper;
 
 import org.javawebstack.abstractdata.AbstractElement;
+import org.javawebstack.abstractdata.json.JsonParser;
+import org.javawebstack.abstractdata.json.JsonReader;
+import org.javawebstack.abstractdata.json.JsonWriter;
 import org.javawebstack.abstractdata.mapper.exception.MapperException;
 
+import java.io.IOException;
+import java.text.ParseException;
+
 public interface MapperTypeAdapter {
 
     AbstractElement toAbstract(MapperContext context, Object value) throws MapperException;
     Object fromAbstract(MapperContext context, AbstractElement element, Class<?> type) throws MapperException;
+    default Object readJson(MapperContext context, JsonReader reader, Class<?> type) throws MapperException, IOException, ParseException {
+        return fromAbstract(context, new JsonParser().setMaxDepth(reader.getMaxDepth()).parse(reader), type);
+    }
+    default void writeJson(MapperContext context, Object value, JsonWriter writer) throws MapperException, IOException {
+        writer.writeElement(toAbstract(context, value));
+    }
     default Class<?>[] getSupportedTypes() {
         return null;
     }
@@ -38,6 +38,9 @@ public class MapperTypeSpec {
 
     private final Class<?> type;
     private final List<FieldSpec> fieldSpecs = new ArrayList<>();
+    private final List<String> fieldNames = new ArrayList<>();
+    private final Map<String, FieldSpec> namedFieldSpecs = new HashMap<>();
+    private final Map<String, FieldSpec> unnamedFieldSpecs = new HashMap<>();
     private Field additionalField;
 
     public MapperTypeSpec(Class<?> type) throws MapperException {
@@ -56,6 +59,13 @@ public class MapperTypeSpec {
             }
         }
         fieldSpecs.sort(Comparator.comparingInt(a -> a.order));
+        for(FieldSpec spec : fieldSpecs) {
+            fieldNames.add(spec.field.getName());
+            if(spec.name != null)
+                namedFieldSpecs.putIfAbsent(spec.name, spec);
+            else
+                unnamedFieldSpecs.putIfAbsent(spec.field.getName(), spec);
+        }
     }
 
     private void checkoutField(Field field) throws MapperException {
@@ -103,6 +113,18 @@ public class MapperTypeSpec {
         return fieldSpecs;
     }
 
+    public List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    public FieldSpec getFieldSpecByName(String name) {
+        return namedFieldSpecs.get(name);
+    }
+
+    public FieldSpec getFieldSpecByFieldName(String fieldName) {
+        return unnamedFieldSpecs.get(fieldName);
+    }
+
     public Field getAdditionalField() {
         if(additionalField != null)
             additionalField.setAccessible(true);
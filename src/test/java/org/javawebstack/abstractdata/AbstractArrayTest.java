@@ -1,7 +1,11 @@
 package org.javawebstack.abstractdata;
 
+import org.javawebstack.abstractdata.json.JsonParser;
+import org.javawebstack.abstractdata.mapper.Mapper;
 import org.junit.jupiter.api.Test;
 
+import java.text.ParseException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AbstractArrayTest {
@@ -41,4 +45,81 @@ class AbstractArrayTest {
         assertFalse(first.equals(""));
         assertFalse(first.equals(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDenseStorage() throws ParseException {
+        AbstractArray longs = new AbstractArray().add(1).add(2).add(3);
+        assertArrayEquals(new long[]{ 1, 2, 3 }, longs.toLongArray());
+        assertEquals(6.0, longs.doubleStream().sum());
+        assertEquals(Integer.valueOf(2), longs.number(1));
+        longs.set(1, 5L);
+        longs.add("x");
+        assertEquals(Long.valueOf(5), longs.number(1));
+        assertEquals("x", longs.string(3));
+        assertEquals(4, longs.size());
+
+        AbstractArray doubles = new JsonParser().parse("[1.5,2.5,-0.25]").array();
+        assertArrayEquals(new double[]{ 1.5, 2.5, -0.25 }, doubles.toDoubleArray());
+        assertArrayEquals(new long[]{ 1, 2, 0 }, doubles.toLongArray());
+        assertEquals("[1.5,2.5,-0.25]", doubles.toJsonString());
+        doubles.remove(0);
+        assertEquals(2.5, doubles.number(0));
+
+        AbstractArray booleans = new AbstractArray().add(true).add(Boolean.FALSE);
+        booleans.addAll(new AbstractArray().add(true));
+        assertEquals("[true,false,true]", booleans.toJsonString());
+        booleans.addNull();
+        assertEquals("[true,false,true,null]", booleans.toJsonString());
+
+        AbstractArray mixed = new JsonParser().parse("[1,5000000000,2.0,true,null]").array();
+        assertEquals("[1,5000000000,2.0,true,null]", mixed.toJsonString());
+
+        AbstractArray large = new AbstractArray().add(5000000000L).add(7000000000L).add(9000000000L);
+        assertEquals(large.get(0), large.iterator().next());
+        assertSame(new AbstractArray().add(7).get(0), new AbstractArray().add(7).get(0));
+        large.remove(1);
+        assertEquals(5000000000L, large.get(0).number());
+        assertEquals(9000000000L, large.get(1).number());
+        large.set(0, AbstractPrimitive.valueOf(1L));
+        assertEquals("[1,9000000000]", large.toJsonString());
+        assertEquals(new AbstractArray().add(1).add(2), new AbstractArray().add(Integer.valueOf(1)).add(AbstractPrimitive.valueOf(2)));
+        assertEquals("[1,2]", new Mapper().map(new int[]{ 1, 2 }).toJsonString());
+    }
+
+    @Test
+    void testPersistentWith() {
+        AbstractArray source = new AbstractArray();
+        for(int i=0; i<100; i++)
+            source.add(new AbstractObject().set("v", i));
+        AbstractArray frozen = source.freeze();
+        AbstractArray changed = frozen.with(10, new AbstractPrimitive("x")).withAdded(new AbstractObject()).without(0);
+        assertTrue(changed.isFrozen());
+        assertEquals(100, changed.size());
+        assertEquals("x", changed.string(9));
+        assertEquals(10, frozen.number("10.v"));
+        assertSame(frozen.get(1), changed.get(0));
+        assertSame(frozen.get(99), changed.get(98));
+        int i = 1;
+        for(AbstractElement element : changed) {
+            if(i != 10 && i < 100)
+                assertSame(frozen.get(i), element);
+            i++;
+        }
+
+        AbstractArray padded = changed.with(102, new AbstractPrimitive(1));
+        assertEquals(103, padded.size());
+        assertTrue(padded.get(101).isNull());
+        assertEquals(100, changed.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> changed.without(100));
+
+        AbstractArray parent = new AbstractArray().add(frozen).add(new AbstractArray());
+        assertSame(frozen, parent.freeze().get(0));
+
+        AbstractArray thawed = changed.clone().array();
+        thawed.remove(0).add(1);
+        assertEquals(100, thawed.size());
+        assertEquals(1, thawed.number(99));
+        assertEquals(2, changed.number("1.v"));
+    }
+
+}
@@ -2,6 +2,8 @@ package org.javawebstack.abstractdata;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.*;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AbstractObjectTest {
@@ -47,4 +49,297 @@ class AbstractObjectTest {
         assertFalse(first.equals(null));
         assertFalse(first.equals(""));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testInsertionOrder() {
+        for(int size : new int[]{ 3, 8, 9, 20 }) {
+            AbstractObject object = new AbstractObject();
+            List<String> expected = new ArrayList<>();
+            for(int i=size; i>0; i--) {
+                object.set("k" + i, i);
+                expected.add("k" + i);
+            }
+            object.set("k" + size, "updated");
+            assertEquals(expected, new ArrayList<>(object.keys()));
+            assertEquals("updated", object.string("k" + size));
+
+            object.remove("k1");
+            expected.remove("k1");
+            Iterator<Map.Entry<String, AbstractElement>> iterator = object.entries().iterator();
+            iterator.next().setValue(new AbstractPrimitive("first"));
+            iterator.next();
+            iterator.remove();
+            expected.remove(1);
+            assertEquals(expected, new ArrayList<>(object.keys()));
+            assertEquals("first", object.string("k" + size));
+            assertEquals(size - 2, object.size());
+            assertFalse(object.has("k1"));
+            assertNull(object.get("k" + (size - 1)));
+
+            object.set("k1", 1);
+            expected.add("k1");
+            List<String> visited = new ArrayList<>();
+            object.forEach((k, v) -> visited.add(k));
+            assertEquals(expected, visited);
+            object.keys().remove("k1");
+            assertFalse(object.has("k1"));
+            object.clear();
+            assertEquals(0, object.size());
+            assertFalse(object.entries().iterator().hasNext());
+        }
+    }
+
+
+    @Test
+    void testFreeze() {
+        AbstractObject source = new AbstractObject()
+                .set("name", "config")
+                .set("nested", new AbstractObject().set("a", 1))
+                .set("list", new AbstractArray().add(1).add(new AbstractObject().set("b", true)));
+        AbstractObject frozen = source.freeze();
+        assertTrue(frozen.isFrozen());
+        assertFalse(source.isFrozen());
+        assertSame(frozen, frozen.freeze());
+        assertEquals(source, frozen);
+
+        source.object("nested").set("a", 2);
+        assertEquals(1, frozen.number("nested.a"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.set("x", 1));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.object("nested").remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.array("list").add(2));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.array("list").object(1).clear());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.entries().iterator().next().setValue(AbstractNull.VALUE));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.keys().remove("name"));
+
+        AbstractObject changed = frozen.with("name", new AbstractPrimitive("changed"));
+        assertTrue(changed.isFrozen());
+        assertEquals("changed", changed.string("name"));
+        assertEquals("config", frozen.string("name"));
+        assertSame(frozen.get("nested"), changed.get("nested"));
+        assertSame(frozen.get("list"), changed.get("list"));
+        assertFalse(changed.without("list").has("list"));
+        assertTrue(frozen.has("list"));
+
+        AbstractArray list = frozen.array("list").with(0, new AbstractPrimitive(5)).withAdded(new AbstractPrimitive("x"));
+        assertEquals("[5,{\"b\":true},\"x\"]", list.toJsonString());
+        assertSame(frozen.array("list").get(1), list.get(1));
+        assertEquals(1, list.without(0).without(1).size());
+
+        AbstractObject thawed = frozen.clone().object();
+        assertFalse(thawed.isFrozen());
+        thawed.object("nested").set("a", 3);
+        assertEquals(1, frozen.number("nested.a"));
+    }
+
+    @Test
+    void testPersistentWith() {
+        AbstractObject source = new AbstractObject();
+        for(int i=0; i<100; i++)
+            source.set("k" + i, new AbstractObject().set("v", i));
+        AbstractObject frozen = source.freeze();
+        AbstractObject changed = frozen.with("k50", new AbstractPrimitive("x")).with("extra", new AbstractObject());
+        assertTrue(changed.isFrozen());
+        assertEquals(101, changed.size());
+        assertEquals("x", changed.string("k50"));
+        assertEquals(50, frozen.number("k50.v"));
+        for(int i=0; i<100; i++) {
+            if(i != 50)
+                assertSame(frozen.get("k" + i), changed.get("k" + i));
+        }
+        List<String> keys = new ArrayList<>(changed.keys());
+        assertEquals("k50", keys.get(50));
+        assertEquals("extra", keys.get(100));
+
+        AbstractObject removed = changed.without("k0").without("missing");
+        assertEquals(100, removed.size());
+        assertFalse(removed.has("k0"));
+        assertTrue(changed.has("k0"));
+        assertSame(frozen.get("k1"), removed.get("k1"));
+        assertEquals("k1", removed.keys().iterator().next());
+
+        AbstractObject parent = new AbstractObject().set("frozen", frozen).set("live", new AbstractObject());
+        AbstractObject frozenParent = parent.freeze();
+        assertSame(frozen, frozenParent.get("frozen"));
+        assertSame(frozenParent, frozenParent.freeze());
+
+        AbstractObject colliding = removed.with("Aa", new AbstractPrimitive(1)).with("BB", new AbstractPrimitive(2));
+        assertEquals(1, colliding.number("Aa"));
+        assertEquals(2, colliding.number("BB"));
+        assertFalse(colliding.without("Aa").has("Aa"));
+        assertEquals(2, colliding.without("Aa").number("BB"));
+
+        AbstractObject thawed = changed.clone().object();
+        thawed.set("k1", 1).remove("k2");
+        assertEquals(100, thawed.size());
+        assertEquals(1, frozen.number("k1.v"));
+        assertTrue(changed.has("k2"));
+    }
+
+    @Test
+    void testPersistentWithMatchesModel() {
+        Random random = new Random(42);
+        AbstractObject current = new AbstractObject().freeze();
+        Map<String, Integer> model = new LinkedHashMap<>();
+        List<AbstractObject> versions = new ArrayList<>();
+        List<Map<String, Integer>> models = new ArrayList<>();
+        for(int i=0; i<2000; i++) {
+            String key = "k" + random.nextInt(64);
+            if(random.nextInt(3) == 0) {
+                current = current.without(key);
+                model.remove(key);
+            } else {
+                int value = random.nextInt();
+                current = current.with(key, new AbstractPrimitive(value));
+                model.put(key, value);
+            }
+            if(i % 100 == 0) {
+                versions.add(current);
+                models.add(new LinkedHashMap<>(model));
+            }
+        }
+        versions.add(current);
+        models.add(model);
+        for(int i=0; i<versions.size(); i++) {
+            AbstractObject version = versions.get(i);
+            Map<String, Integer> expected = models.get(i);
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(version.keys()));
+            expected.forEach((k, v) -> assertEquals(v, version.number(k)));
+        }
+    }
+
+    @Test
+    void testCopyOnWriteClone() {
+        AbstractObject large = new AbstractObject();
+        for(int i=0; i<20; i++)
+            large.set("k" + i, i);
+        AbstractObject source = new AbstractObject()
+                .set("name", "source")
+                .set("nested", new AbstractObject().set("a", 1).set("deep", new AbstractObject().set("b", 2)))
+                .set("list", new AbstractArray().add(1).add(2))
+                .set("objects", new AbstractArray().add(new AbstractObject().set("c", 3)))
+                .set("large", large);
+        String json = source.toJsonString();
+        AbstractObject copy = source.clone().object();
+        assertEquals(source, copy);
+
+        copy.set("name", "copy");
+        copy.object("nested").object("deep").set("b", 5);
+        copy.array("list").add(3);
+        copy.array("objects").object(0).remove("c");
+        copy.object("large").set("k0", "changed");
+        assertEquals(json, source.toJsonString());
+
+        source.object("nested").set("a", 7);
+        source.array("objects").add(true);
+        assertEquals(1, copy.number("nested.a"));
+        assertEquals("{\"name\":\"copy\",\"nested\":{\"a\":1,\"deep\":{\"b\":5}},\"list\":[1,2,3],\"objects\":[{}]}",
+                copy.without("large").toJsonString());
+
+        AbstractObject frozen = source.freeze();
+        AbstractObject thawed = frozen.clone().object();
+        thawed.object("nested").object("deep").set("b", 9);
+        assertFalse(thawed.isFrozen());
+        assertEquals(2, frozen.number("nested.deep.b"));
+        AbstractObject mixed = new AbstractObject().set("frozen", frozen);
+        mixed.clone().object().object("frozen").set("name", "x");
+        assertSame(frozen, mixed.get("frozen"));
+    }
+
+    @Test
+    void testCloneOfHashedObjectIterators() {
+        AbstractObject source = new AbstractObject();
+        for(int i=0; i<10; i++)
+            source.set("k" + i, i);
+        AbstractObject copy = source.clone().object();
+        copy.keys().remove("k0");
+        assertEquals(10, source.size());
+        assertEquals(9, copy.size());
+
+        Iterator<Map.Entry<String, AbstractElement>> iterator = source.entries().iterator();
+        iterator.next();
+        iterator.remove();
+        iterator.next().setValue(new AbstractPrimitive("X"));
+        assertEquals(9, source.size());
+        assertEquals("X", source.string("k1"));
+        assertEquals(9, copy.size());
+        assertEquals(1, copy.number("k1"));
+
+        AbstractObject second = source.clone().object();
+        second.entries().iterator().next().setValue(new AbstractPrimitive("Y"));
+        second.entries().removeIf(e -> e.getKey().equals("k2"));
+        assertEquals("X", source.string("k1"));
+        assertTrue(source.has("k2"));
+        assertEquals("Y", second.string("k1"));
+        assertFalse(second.has("k2"));
+
+        Iterator<Map.Entry<String, AbstractElement>> local = second.entries().iterator();
+        while (local.hasNext()) {
+            if(local.next().getKey().startsWith("k"))
+                local.remove();
+        }
+        assertEquals(0, second.size());
+        assertEquals(9, source.size());
+    }
+
+    @Test
+    void testCloneDetachesExistingChildReferences() {
+        AbstractObject root = new AbstractObject()
+                .set("child", new AbstractObject().set("x", 1))
+                .set("list", new AbstractArray().add(1).add(new AbstractObject().set("z", 1)));
+        AbstractObject child = root.object("child");
+        AbstractArray list = root.array("list");
+        AbstractObject nested = list.object(1);
+        AbstractObject copy = root.clone().object();
+
+        child.set("y", 2);
+        list.add(3);
+        nested.set("z", 2);
+        assertEquals("{\"child\":{\"x\":1,\"y\":2},\"list\":[1,{\"z\":2},3]}", root.toJsonString());
+        assertEquals("{\"child\":{\"x\":1},\"list\":[1,{\"z\":1}]}", copy.toJsonString());
+
+        assertSame(child, root.get("child"));
+        assertSame(list, root.get("list"));
+        assertSame(nested, list.get(1));
+        assertNotSame(child, copy.get("child"));
+        AbstractObject copiedChild = copy.object("child");
+        copiedChild.set("x", 5);
+        assertSame(copiedChild, copy.get("child"));
+        assertEquals(1, child.number("x"));
+    }
+
+    @Test
+    void testConcurrentCloneOfTemplate() throws InterruptedException {
+        AbstractObject template = new AbstractObject();
+        for(int i=0; i<50; i++)
+            template.set("k" + i, new AbstractObject().set("v", i).set("list", new AbstractArray().add(i).add(i + 1)));
+        String json = template.toJsonString();
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        Thread[] threads = new Thread[8];
+        for(int t=0; t<threads.length; t++) {
+            boolean cloning = t % 2 == 0;
+            threads[t] = new Thread(() -> {
+                try {
+                    for(int i=0; i<200; i++) {
+                        if(cloning) {
+                            AbstractObject copy = template.clone().object();
+                            copy.object("k1").set("v", -1);
+                            copy.array("k2.list").add(0);
+                            assertEquals(-1, copy.number("k1.v"));
+                        } else {
+                            assertEquals(json, template.toJsonString());
+                            assertEquals(7, template.number("k7.v"));
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            threads[t].start();
+        }
+        for(Thread thread : threads)
+            thread.join();
+        assertEquals(Collections.emptyList(), errors);
+        assertEquals(json, template.toJsonString());
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.javawebstack.abstractdata;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbstractPathTest {
+
+    private static final AbstractPath FIRST_NAME = AbstractPath.compile("users.0.name");
+
+    @Test
+    void testCompile() {
+        AbstractPath path = AbstractPath.compile("a..b.");
+        assertEquals(4, path.size());
+        assertEquals("", path.get(1));
+        assertEquals("", path.get(3));
+        assertEquals("a..b.", path.toString());
+        assertEquals(path, AbstractPath.of("a..b."));
+        assertSame(AbstractPath.of("x.y"), AbstractPath.of("x.y"));
+        AbstractPath indexed = AbstractPath.compile("items.12.-1.x");
+        assertFalse(indexed.isIndex(0));
+        assertEquals(12, indexed.getIndex(1));
+        assertEquals(-1, indexed.getIndex(2));
+        assertThrows(IllegalArgumentException.class, () -> indexed.getIndex(3));
+    }
+
+    @Test
+    void testQuery() {
+        AbstractObject object = new AbstractObject()
+                .set("users", new AbstractArray().add(new AbstractObject().set("name", "Jan").set("tags", new AbstractArray().add("a"))))
+                .set("1", new AbstractObject().set("x", true))
+                .set("", new AbstractObject().set("", 5));
+        assertEquals("Jan", object.query(FIRST_NAME).string());
+        assertEquals("Jan", object.string("users.0.name"));
+        assertEquals("Jan", object.string("users.+0.name"));
+        assertEquals("a", object.string("users.0.tags.0"));
+        assertEquals(true, object.bool("1.x"));
+        assertEquals(5, object.number("."));
+        assertNull(object.query("users.name"));
+        assertNull(object.query("users.0.name.length"));
+        assertNull(object.query("missing.0"));
+        assertNull(object.array("users").query("first.name"));
+        assertEquals("Jan", object.array("users").query(AbstractPath.of("0.name")).string());
+        assertEquals("fallback", object.query(AbstractPath.of("users.9999999999"), new AbstractPrimitive("fallback")).string());
+        assertThrows(IndexOutOfBoundsException.class, () -> object.query("users.3"));
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.javawebstack.abstractdata;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbstractPrimitiveTest {
+
+    @Test
+    void testValueOfCaches() {
+        assertSame(AbstractPrimitive.TRUE, AbstractPrimitive.valueOf(true));
+        assertSame(AbstractPrimitive.FALSE, AbstractPrimitive.valueOf(Boolean.FALSE));
+        assertSame(AbstractPrimitive.EMPTY_STRING, AbstractPrimitive.valueOf(""));
+        assertSame(AbstractPrimitive.valueOf(42), AbstractPrimitive.valueOf(Integer.valueOf(42)));
+        assertThrows(NullPointerException.class, () -> AbstractPrimitive.valueOf((String) null));
+    }
+
+    @Test
+    void testNumberRepresentation() {
+        assertEquals(Integer.valueOf(5), AbstractPrimitive.valueOf(5).number());
+        assertEquals(Long.valueOf(5), AbstractPrimitive.valueOf(5L).number());
+        assertEquals(Double.valueOf(0.5), new AbstractPrimitive(0.5).number());
+        assertEquals(new BigDecimal("1.50"), AbstractPrimitive.valueOf(new BigDecimal("1.50")).number());
+        assertEquals(Short.valueOf((short) 3), new AbstractPrimitive((short) 3).toObject());
+
+        assertEquals(AbstractPrimitive.valueOf(5), new AbstractPrimitive(5));
+        assertNotEquals(AbstractPrimitive.valueOf(5), AbstractPrimitive.valueOf(5L));
+        assertEquals(AbstractPrimitive.valueOf(Double.NaN), AbstractPrimitive.valueOf(Double.NaN));
+        assertNotEquals(AbstractPrimitive.valueOf(0.0), AbstractPrimitive.valueOf(-0.0));
+
+        assertEquals("-7", AbstractPrimitive.valueOf(-7L).string());
+        assertEquals("2.5", AbstractPrimitive.valueOf(2.5).toString());
+        assertEquals(2, AbstractPrimitive.valueOf(2.9).longValue());
+        assertEquals(3.0, AbstractPrimitive.valueOf("3").doubleValue());
+        assertTrue(AbstractPrimitive.valueOf(1).bool());
+        assertEquals(AbstractElement.Type.NUMBER, AbstractPrimitive.valueOf(1.0).getType());
+        assertEquals(AbstractElement.Type.STRING, AbstractPrimitive.valueOf("a").getType());
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractArray;
+import org.javawebstack.abstractdata.AbstractElement;
+import org.javawebstack.abstractdata.AbstractPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonDumperTest {
+
+    private static final String DOCUMENT = "{\"a\":[1,{\"b\":[],\"c\":{}},[[2.5,true]],\"x\\u2001\\n/ caf\\u00e9\"],\"d\":null}";
+
+    @Test
+    void testDumpCompact() throws ParseException {
+        assertEquals("{\"a\":[1,{\"b\":[],\"c\":{}},[[2.5,true]],\"x\\u2001\\n\\/ caf\u00e9\"],\"d\":null}", new JsonParser().parse(DOCUMENT).toJsonString());
+    }
+
+    @Test
+    void testDumpPretty() throws ParseException {
+        String expected = "{\n  \"a\": [\n    1,\n    {\n      \"b\": [],\n      \"c\": {}\n    }\n  ],\n  \"d\": null\n}";
+        assertEquals(expected, new JsonDumper().setPretty(true).setIndent("  ").dump(new JsonParser().parse("{\"a\":[1,{\"b\":[],\"c\":{}}],\"d\":null}")));
+    }
+
+    @Test
+    void testDumpStreaming() throws IOException, ParseException {
+        AbstractElement element = new JsonParser().parse(DOCUMENT);
+        for(JsonDumper dumper : new JsonDumper[]{ new JsonDumper(), new JsonDumper().setPretty(true) }) {
+            String expected = dumper.dump(element);
+            StringWriter writer = new StringWriter();
+            dumper.dump(element, writer);
+            assertEquals(expected, writer.toString());
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            dumper.dump(element, stream);
+            assertEquals(expected, new String(stream.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testDumpUtf8() throws IOException, ParseException {
+        StringBuilder sb = new StringBuilder("[");
+        for(int i=0; i<5000; i++)
+            sb.append(i > 0 ? "," : "").append("\"\ud83d\ude00 caf\u00e9 \u4e2d ").append(i).append('"');
+        AbstractElement element = new JsonParser().parse(sb.append("]").toString());
+        byte[] expected = element.toJsonString().getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, element.toJsonBytes());
+        assertArrayEquals(expected, element.toJsonBytes());
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        element.writeJson(stream);
+        assertArrayEquals(expected, stream.toByteArray());
+        stream.reset();
+        new JsonDumper().dump(element, Channels.newChannel(stream));
+        assertArrayEquals(expected, stream.toByteArray());
+        assertArrayEquals(element.toJsonString(true).getBytes(StandardCharsets.UTF_8), element.toJsonBytes(true));
+        AbstractElement broken = new AbstractPrimitive("a\ud83db\ude00");
+        assertArrayEquals(broken.toJsonString().getBytes(StandardCharsets.UTF_8), broken.toJsonBytes());
+    }
+
+    @Test
+    void testEscapePolicy() {
+        String plain = "nothing to escape here \u00e9";
+        assertSame(plain, new JsonDumper().escape(plain));
+        String s = "a/b\"c\\d\u0000\u0001\n\u007f\u0085\u2028\u00e9";
+        assertEquals("a\\/b\\\"c\\\\d\\0\\u0001\\n\\u007F\\u0085\\u2028\u00e9", new JsonDumper().escape(s));
+        JsonDumper minimal = new JsonDumper().setEscapePolicy(JsonDumper.EscapePolicy.MINIMAL);
+        assertEquals("a/b\\\"c\\\\d\\u0000\\u0001\\n\u007f\u0085\u2028\u00e9", minimal.escape(s));
+        assertEquals("[\"a/b\"]", minimal.dump(new AbstractArray().add("a/b")));
+    }
+
+}
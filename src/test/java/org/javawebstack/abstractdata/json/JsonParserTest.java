@@ -0,0 +1,268 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractElement;
+import org.javawebstack.abstractdata.AbstractObject;
+import org.javawebstack.abstractdata.exception.JsonParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonParserTest {
+
+    @Test
+    void testParseDocument() throws ParseException {
+        AbstractElement element = new JsonParser().parse("{\"a\": [1, 2.5, -3, true, false, null], \"b\": {\"c\": \"d\\n\\u00e4\"}, \"e\": 5000000000}");
+        AbstractObject object = element.object();
+        assertEquals(6, object.array("a").size());
+        assertEquals(1, object.array("a").number(0));
+        assertEquals(2.5, object.array("a").number(1));
+        assertEquals(-3, object.array("a").number(2));
+        assertTrue(object.array("a").bool(3));
+        assertFalse(object.array("a").bool(4));
+        assertTrue(object.array("a").get(5).isNull());
+        assertEquals("d\n\u00e4", object.string("b.c"));
+        assertEquals(5000000000L, object.number("e"));
+    }
+
+    @Test
+    void testParseExponent() throws ParseException {
+        assertEquals(100000.0, new JsonParser().parse("1e5").number());
+        assertEquals(-0.015, new JsonParser().parse("-1.5E-2").number());
+    }
+
+    @Test
+    void testRoundTrip() throws ParseException {
+        String json = "{\"a\":\"\\\"quoted\\\"\",\"b\":[{},[],\"\"],\"c\":1.5}";
+        assertEquals(json, new JsonParser().parse(json).toJsonString());
+    }
+
+    @Test
+    void testUnexpectedCharacter() {
+        ParseException ex = assertThrows(ParseException.class, () -> new JsonParser().parse("{\n  \"a\": tru }"));
+        assertEquals("Unexpected character ' ' at line 2 pos 11", ex.getMessage());
+        assertThrows(ParseException.class, () -> new JsonParser().parse("[1, 2"));
+    }
+
+    @Test
+    void testParseUtf8Bytes() throws IOException, ParseException {
+        String json = "{\"emoji\": \"\ud83d\ude00 caf\u00e9 \u20ac\", \"n\": [1, 2.5], \"esc\": \"\\u00e4\\n\"}";
+        AbstractElement expected = new JsonParser().parse(json);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        byte[] padded = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, padded, 2, bytes.length);
+        assertEquals(expected, new JsonParser().parse(bytes));
+        assertEquals(expected, new JsonParser().parse(padded, 2, bytes.length));
+        assertEquals(expected, new JsonParser().parse(ByteBuffer.wrap(bytes)));
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertEquals(expected, new JsonParser().parse(direct));
+        assertEquals(expected, new JsonParser().parse(new JsonReader(new ByteArrayInputStream(bytes), 16)));
+        assertEquals("\ud83d\ude00 caf\u00e9 \u20ac", new JsonParser().parse(bytes).object().string("emoji"));
+    }
+
+    @Test
+    void testParseMappedFile(@TempDir Path dir) throws IOException, ParseException {
+        String json = "{\"items\": [{\"name\": \"caf\u00e9\"}, {\"name\": \"b\"}], \"count\": 2}";
+        Path file = dir.resolve("document.json");
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        AbstractElement expected = new JsonParser().parse(json);
+        assertEquals(expected, AbstractElement.fromJsonFile(file));
+        try (JsonReader reader = new JsonReader(new MappedFileInputStream(file, 7), 16)) {
+            assertEquals(expected, new JsonParser().parse(reader));
+        }
+    }
+
+    @Test
+    void testLazyParse() throws ParseException {
+        String json = "{\"a\": {\"b\": [1, {\"c\": \"]}\\\"\"}], \"d\": true}, \"e\": [[0], {}], \"f\": 1.5}";
+        AbstractElement eager = new JsonParser().parse(json);
+        AbstractElement lazy = new JsonParser().setLazy(true).parse(json.getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(AbstractObject.class, lazy.getClass());
+        assertEquals("]}\"", lazy.object().string("a.b.1.c"));
+        assertEquals(eager.toJsonString(), lazy.toJsonString());
+        assertEquals(eager, lazy);
+        lazy.object().object("a").set("d", false);
+        assertFalse(lazy.object().bool("a.d"));
+        assertThrows(ParseException.class, () -> new JsonParser().setLazy(true).parse("{\"a\": [1, 2}"));
+        AbstractElement deferred = new JsonParser().setLazy(true).parse("{\"a\": [1, tru], \"b\": 2}");
+        assertEquals(2, deferred.object().number("b"));
+        JsonParseException ex = assertThrows(JsonParseException.class, () -> deferred.object().array("a").size());
+        assertEquals(13, ex.getErrorOffset());
+    }
+
+    @Test
+    void testLazyParseCopiesInput() throws ParseException {
+        byte[] json = "xx{\"a\": {\"b\": 1}, \"c\": [2]}".getBytes(StandardCharsets.UTF_8);
+        JsonParser parser = new JsonParser().setLazy(true);
+        AbstractElement slice = parser.parse(json, 2, json.length - 2);
+        AbstractElement buffer = parser.parse(ByteBuffer.wrap(json, 2, json.length - 2));
+        byte[] whole = Arrays.copyOfRange(json, 2, json.length);
+        AbstractElement array = parser.parse(whole);
+        Arrays.fill(json, (byte) '9');
+        Arrays.fill(whole, (byte) '9');
+        for(AbstractElement element : new AbstractElement[]{ slice, buffer, array }) {
+            assertEquals(1, element.object().number("a.b"));
+            assertEquals(2, element.object().number("c.0"));
+        }
+    }
+
+    @Test
+    void testCanonicalizeStrings() throws ParseException {
+        String json = "[{\"status\": \"active\", \"n\u00e4me\": \"a\"}, {\"status\": \"active\", \"n\u00e4me\": \"b\"}]";
+        for(AbstractElement element : new AbstractElement[]{ new JsonParser().setCanonicalizeStrings(true).parse(json), new JsonParser().setCanonicalizeStrings(true).parse(json.getBytes(StandardCharsets.UTF_8)) }) {
+            AbstractObject first = element.array().object(0);
+            AbstractObject second = element.array().object(1);
+            assertSame(first.keys().iterator().next(), second.keys().iterator().next());
+            assertSame(first.string("status"), second.string("status"));
+            assertEquals("b", second.string("n\u00e4me"));
+        }
+        AbstractElement plain = new JsonParser().parse(json);
+        assertNotSame(plain.array().object(0).string("status"), plain.array().object(1).string("status"));
+    }
+
+    @Test
+    void testParseNumbers() throws ParseException {
+        JsonParser parser = new JsonParser();
+        assertEquals(Long.MIN_VALUE, parser.parse("-9223372036854775808").number());
+        assertEquals(Long.MAX_VALUE, parser.parse("9223372036854775807").number());
+        assertEquals(new BigInteger("9223372036854775808"), parser.parse("9223372036854775808").number());
+        assertEquals(new BigInteger("-123456789012345678901234567890"), parser.parse("-123456789012345678901234567890").number());
+        assertEquals(new BigDecimal("3.14159265358979323846264338327950288"), parser.parse("3.14159265358979323846264338327950288").number());
+        assertEquals(new BigDecimal("1e400"), parser.parse("1e400").number());
+        assertEquals(new BigDecimal("-2.5e-400"), parser.parse("-2.5e-400").number());
+        assertEquals(-0.0, parser.parse("-0.0").number());
+        assertEquals(0.0, parser.parse("0e10").number());
+        assertThrows(ParseException.class, () -> parser.parse("1."));
+        assertEquals(0.5, parser.parse(".5").number());
+        assertEquals(-0.25, parser.parse("-.25").number());
+        assertEquals("[0.5,1]", parser.parse("[.5,1]").toJsonString());
+        assertThrows(ParseException.class, () -> parser.parse("."));
+        assertThrows(ParseException.class, () -> parser.parse("-.e1"));
+        assertThrows(ParseException.class, () -> parser.parse("1e+"));
+        Random random = new Random(42);
+        for(int i=0; i<100000; i++) {
+            double expected;
+            switch (i % 3) {
+                case 0:
+                    expected = Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE);
+                    break;
+                case 1:
+                    expected = random.nextDouble() * Math.pow(10, random.nextInt(40) - 20);
+                    break;
+                default:
+                    expected = random.nextInt(1000000) / 1000.0;
+            }
+            if(Double.isNaN(expected) || Double.isInfinite(expected) || expected == 0 || expected < Double.MIN_NORMAL)
+                continue;
+            String text = Double.toString(expected);
+            if(!text.contains(".") && !text.contains("E"))
+                continue;
+            assertEquals(expected, parser.parse(text).number(), text);
+            String shortened = text.length() > 9 && !text.contains("E") ? text.substring(0, 9) + "1" : text;
+            assertEquals(Double.parseDouble(shortened), parser.parse(shortened).number(), shortened);
+        }
+    }
+
+    @Test
+    void testParallelParse() throws ParseException {
+        StringBuilder sb = new StringBuilder("[");
+        for(int i=0; i<20000; i++) {
+            if(i > 0)
+                sb.append(i % 7 == 0 ? " ,\n " : ",");
+            if(i % 5 == 0)
+                sb.append(i);
+            else
+                sb.append("{\"id\": ").append(i).append(", \"text\": \"a, \\\"b\\\" [c] {d} caf\u00e9\", \"list\": [").append(i).append(", {}]}");
+        }
+        String json = sb.append("]").toString();
+        AbstractElement expected = new JsonParser().parse(json);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            JsonParser parser = new JsonParser().setParallel(true).setPool(pool);
+            assertEquals(expected, parser.parse(json));
+            assertEquals(expected, parser.parse(json.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(20000, parser.parse(json).array().size());
+            assertThrows(ParseException.class, () -> parser.parse(json.replace("\"id\": 19999", "\"id\": x")));
+            assertThrows(ParseException.class, () -> parser.parse(json.substring(0, json.length() - 1)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testProjection() throws ParseException {
+        String json = "{\"user\": {\"id\": 7, \"name\": \"x\", \"roles\": [\"a\"]}, \"items\": [{\"price\": 1.5, \"tags\": [1, 2]}, {\"name\": \"y\"}, {\"price\": 3, \"sku\": {\"id\": 1}}], \"meta\": {\"skip\": [1e400, \"\\\"\"]}}";
+        AbstractElement projected = new JsonParser().setProjection("user.id", "items.*.price", "items.1.name").parse(json);
+        assertEquals("{\"user\":{\"id\":7},\"items\":[{\"price\":1.5},{\"name\":\"y\"},{\"price\":3}]}", projected.toJsonString());
+        assertEquals("{\"items\":[null,null,{\"sku\":{\"id\":1}}]}", new JsonParser().setProjection("items.2.sku", "missing").parse(json).toJsonString());
+        assertEquals("{}", new JsonParser().setProjection("nothing").parse(json).toJsonString());
+        assertEquals(new JsonParser().parse(json), new JsonParser().setProjection("user", "items", "meta").parse(json));
+        AbstractElement empty = new JsonParser().parse("{\"a\": {\"\": 1, \"b\": 2}}");
+        assertEquals("{\"a\":{\"\":1}}", new JsonParser().setProjection("a.").parse(empty.toJsonString()).toJsonString());
+        assertEquals(empty.object().query("a."), new JsonParser().setProjection("a.").parse(empty.toJsonString()).object().query("a."));
+    }
+
+    @Test
+    void testIncrementalParse() throws ParseException {
+        String json = "{\"a\": [1, \"}]\\\"\"], \"b\": \"caf\u00e9\"} 12345 \"x\"\n[true, null] -1.5e3";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        JsonParser parser = new JsonParser();
+        for(int chunk : new int[]{ 1, 3, 7, bytes.length }) {
+            IncrementalJsonParser incremental = parser.newIncremental();
+            List<AbstractElement> elements = new ArrayList<>();
+            for(int i=0; i<bytes.length; i+=chunk)
+                elements.addAll(incremental.feed(ByteBuffer.wrap(bytes, i, Math.min(chunk, bytes.length - i))));
+            assertEquals(4, elements.size());
+            elements.addAll(incremental.endOfInput());
+            assertEquals(5, elements.size());
+            assertEquals(parser.parse("{\"a\": [1, \"}]\\\"\"], \"b\": \"caf\u00e9\"}"), elements.get(0));
+            assertEquals(12345, elements.get(1).number());
+            assertEquals("x", elements.get(2).string());
+            assertEquals(-1500.0, elements.get(4).number());
+            assertTrue(incremental.isIdle());
+        }
+        IncrementalJsonParser incremental = parser.newIncremental();
+        assertTrue(incremental.feed("{\"a\": [".getBytes(StandardCharsets.UTF_8)).isEmpty());
+        assertFalse(incremental.isIdle());
+        assertThrows(ParseException.class, incremental::endOfInput);
+        assertThrows(IllegalStateException.class, () -> incremental.feed(new byte[1]));
+        assertThrows(ParseException.class, () -> parser.newIncremental().feed("[1, }]".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testDeepNesting() throws ParseException {
+        int depth = 100000;
+        StringBuilder sb = new StringBuilder();
+        for(int i=0; i<depth; i++)
+            sb.append(i % 2 == 0 ? "[" : "{\"a\":");
+        sb.append("1");
+        for(int i=depth-1; i>=0; i--)
+            sb.append(i % 2 == 0 ? "]" : "}");
+        String json = sb.toString();
+        assertThrows(ParseException.class, () -> new JsonParser().parse(json));
+        assertThrows(ParseException.class, () -> new JsonParser().setMaxDepth(10).parse("[[[[[[[[[[[1]]]]]]]]]]]"));
+        AbstractElement element = new JsonParser().setMaxDepth(depth).parse(json);
+        assertEquals(json, element.toJsonString());
+        AbstractElement copy = element.clone();
+        assertEquals(element, copy);
+        assertEquals(1, copy.toTree().size());
+        assertEquals(depth, copy.toTree().keySet().iterator().next().length);
+    }
+
+}
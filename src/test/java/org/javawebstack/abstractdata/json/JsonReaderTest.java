@@ -0,0 +1,58 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractElement;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonReaderTest {
+
+    private static final String DOCUMENT = "{\"id\": 12345678901, \"name\": \"a rather long name that exceeds the buffer \\\"size\\\"\", \"tags\": [\"x\", \"y\", {\"z\": [1.25e2, null]}], \"active\": true}";
+
+    @Test
+    void testTokens() throws IOException, ParseException {
+        JsonReader reader = new JsonReader(new StringReader(DOCUMENT), 16);
+        reader.beginObject();
+        assertEquals("id", reader.nextName());
+        assertEquals(12345678901L, reader.nextNumber());
+        assertEquals("name", reader.nextName());
+        assertEquals("a rather long name that exceeds the buffer \"size\"", reader.nextString());
+        assertEquals("tags", reader.nextName());
+        assertEquals(JsonReader.Token.BEGIN_ARRAY, reader.peek());
+        reader.skipValue();
+        assertEquals("active", reader.nextName());
+        assertTrue(reader.nextBoolean());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    void testStreamedTreeMatchesString() throws IOException, ParseException {
+        AbstractElement streamed = new JsonParser().parse(new JsonReader(new StringReader(DOCUMENT), 16));
+        assertEquals(new JsonParser().parse(DOCUMENT), streamed);
+    }
+
+    @Test
+    void testMultipleDocuments() throws IOException, ParseException {
+        JsonReader reader = new JsonReader("1 \"two\"\n[3]");
+        assertEquals(1, reader.nextNumber());
+        assertEquals("two", reader.nextString());
+        reader.beginArray();
+        assertEquals(3, reader.nextNumber());
+        reader.endArray();
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void testErrorPosition() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("[\n1,\n  x]"), 16);
+        ParseException ex = assertThrows(ParseException.class, () -> new JsonParser().parse(reader));
+        assertEquals("Unexpected character 'x' at line 3 pos 3", ex.getMessage());
+    }
+
+}
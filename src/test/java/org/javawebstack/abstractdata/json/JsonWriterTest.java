@@ -0,0 +1,130 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractElement;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonWriterTest {
+
+    private static final String DOCUMENT = "{\"a\":[1,{\"b\":[],\"c\":{}},[[2.5,true]],\"x\\u2001\\n/ caf\\u00e9\"],\"d\":null}";
+
+    @Test
+    void testWriteMatchesDumper() throws IOException, ParseException {
+        AbstractElement element = new JsonParser().parse(DOCUMENT);
+        for(JsonDumper dumper : new JsonDumper[]{ new JsonDumper(), new JsonDumper().setPretty(true).setIndent("  ") }) {
+            StringWriter out = new StringWriter();
+            try (JsonWriter writer = new JsonWriter(out, dumper)) {
+                writer.beginObject()
+                        .name("a").beginArray()
+                            .value(1)
+                            .beginObject()
+                                .name("b").beginArray().endArray()
+                                .name("c").beginObject().endObject()
+                            .endObject()
+                            .beginArray().beginArray().value(2.5).value(true).endArray().endArray()
+                            .value("x\u2001\n/ caf\u00e9")
+                        .endArray()
+                        .name("d").nullValue()
+                        .endObject();
+            }
+            assertEquals(dumper.dump(element), out.toString());
+        }
+    }
+
+    @Test
+    void testWriteElement() throws IOException, ParseException {
+        AbstractElement element = new JsonParser().parse(DOCUMENT);
+        JsonDumper dumper = new JsonDumper().setPretty(true);
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out, dumper)) {
+            writer.beginObject()
+                    .name("a").writeElement(element.object().get("a"))
+                    .name("d").writeElement(element.object().get("d"))
+                    .endObject();
+        }
+        assertEquals(dumper.dump(element), out.toString());
+    }
+
+    @Test
+    void testWriteToStream() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(stream)) {
+            writer.beginArray().value("caf\u00e9 \uD83D\uDE00").value(Long.MIN_VALUE).value((Number) null).endArray();
+        }
+        assertEquals("[\"caf\u00e9 \uD83D\uDE00\",-9223372036854775808,null]", new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testStreamWriterUsesPooledOutput() throws IOException {
+        Utf8Output pooled = Utf8Output.acquire();
+        pooled.release();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonWriter writer = new JsonWriter(stream).beginArray().value(1).endArray();
+        assertNotSame(pooled, Utf8Output.acquire());
+        writer.flush();
+        assertEquals("[1]", new String(stream.toByteArray(), StandardCharsets.UTF_8));
+        Utf8Output reused = Utf8Output.acquire();
+        assertSame(pooled, reused);
+        reused.release();
+        writer.close();
+        assertSame(pooled, Utf8Output.acquire());
+        pooled.release();
+    }
+
+    @Test
+    void testIncompleteCloseReleasesSink() {
+        boolean[] closed = new boolean[1];
+        ByteArrayOutputStream stream = new ByteArrayOutputStream() {
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        Utf8Output pooled = Utf8Output.acquire();
+        pooled.release();
+        assertThrows(IOException.class, () -> new JsonWriter(stream).beginObject().name("a").close());
+        assertTrue(closed[0]);
+        assertEquals("{\"a\":", new String(stream.toByteArray(), StandardCharsets.UTF_8));
+        assertSame(pooled, Utf8Output.acquire());
+        pooled.release();
+    }
+
+    @Test
+    void testDiscardReleasesWithoutClosing() throws IOException {
+        boolean[] closed = new boolean[1];
+        ByteArrayOutputStream stream = new ByteArrayOutputStream() {
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        Utf8Output pooled = Utf8Output.acquire();
+        pooled.release();
+        JsonWriter writer = new JsonWriter(stream).beginObject().name("a");
+        writer.discard();
+        assertFalse(closed[0]);
+        assertSame(pooled, Utf8Output.acquire());
+        pooled.release();
+        assertThrows(IllegalStateException.class, writer::flush);
+    }
+
+    @Test
+    void testInvalidNesting() throws IOException {
+        JsonWriter writer = new JsonWriter(new StringBuilder());
+        writer.beginObject();
+        assertThrows(IllegalStateException.class, () -> writer.value(1));
+        assertThrows(IllegalStateException.class, writer::endArray);
+        writer.name("a");
+        assertThrows(IllegalStateException.class, () -> writer.name("b"));
+        assertThrows(IllegalStateException.class, writer::endObject);
+        writer.value(1).endObject();
+        assertThrows(IllegalStateException.class, () -> writer.value(2));
+        assertThrows(IOException.class, () -> new JsonWriter(new StringBuilder()).beginArray().close());
+    }
+
+}
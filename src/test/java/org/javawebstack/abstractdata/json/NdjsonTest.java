@@ -0,0 +1,100 @@
+package org.javawebstack.abstractdata.json;
+
+import org.javawebstack.abstractdata.AbstractElement;
+import org.javawebstack.abstractdata.AbstractObject;
+import org.javawebstack.abstractdata.exception.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonTest {
+
+    private static byte[] records(int count) throws IOException {
+        List<AbstractElement> elements = new ArrayList<>();
+        for(int i=0; i<count; i++)
+            elements.add(new AbstractObject().set("id", i).set("name", "record " + i));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonWriter writer = new NdjsonWriter(out)) {
+            writer.writeAll(elements);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void testSerial() {
+        byte[] input = "{\"a\":1}\r\n\n  \n[2]\n\"three\"".getBytes(StandardCharsets.UTF_8);
+        List<AbstractElement> elements = new NdjsonReader(new ByteArrayInputStream(input)).stream().collect(Collectors.toList());
+        assertEquals(3, elements.size());
+        assertEquals(1, elements.get(0).object().number("a"));
+        assertEquals(2, elements.get(1).array().number(0));
+        assertEquals("three", elements.get(2).string());
+    }
+
+    @Test
+    void testParallelKeepsOrder() throws IOException {
+        byte[] input = records(5000);
+        List<AbstractElement> elements = new NdjsonReader(new ByteArrayInputStream(input))
+                .setParallel(true)
+                .setPool(new ForkJoinPool(4))
+                .setChunkSize(1024)
+                .stream()
+                .collect(Collectors.toList());
+        assertEquals(5000, elements.size());
+        for(int i=0; i<elements.size(); i++)
+            assertEquals(i, elements.get(i).object().number("id"));
+    }
+
+    @Test
+    void testInvalidRecordLine() {
+        byte[] input = "1\n2\n{\"a\" 3}\n".getBytes(StandardCharsets.UTF_8);
+        for(boolean parallel : new boolean[]{ false, true }) {
+            JsonParseException ex = assertThrows(JsonParseException.class, () -> new NdjsonReader(new ByteArrayInputStream(input)).setParallel(parallel).stream().count());
+            assertTrue(ex.getMessage().startsWith("Invalid record at line 3"));
+            assertEquals(5, ex.getErrorOffset());
+        }
+    }
+
+    @Test
+    void testConfiguredParser() {
+        byte[] input = "{\"a\":{\"b\":[1]}}\n[[[[1]]]]\n".getBytes(StandardCharsets.UTF_8);
+        for(boolean parallel : new boolean[]{ false, true }) {
+            List<AbstractElement> elements = new NdjsonReader(new ByteArrayInputStream(input), new JsonParser().setLazy(true))
+                    .setParallel(parallel)
+                    .stream()
+                    .collect(Collectors.toList());
+            assertNotEquals(AbstractObject.class, elements.get(0).getClass());
+            assertEquals(1, elements.get(0).object().number("a.b.0"));
+            JsonParseException ex = assertThrows(JsonParseException.class, () -> new NdjsonReader(new ByteArrayInputStream(input), new JsonParser().setMaxDepth(3)).setParallel(parallel).stream().count());
+            assertTrue(ex.getMessage().startsWith("Invalid record at line 2"));
+        }
+    }
+
+    @Test
+    void testLazySerialLargerThanBuffer() throws IOException {
+        byte[] input = records(5000);
+        assertTrue(input.length > 65536);
+        List<AbstractElement> elements = new NdjsonReader(new ByteArrayInputStream(input), new JsonParser().setLazy(true))
+                .stream()
+                .collect(Collectors.toList());
+        assertEquals(5000, elements.size());
+        for(int i=0; i<elements.size(); i++) {
+            assertEquals(i, elements.get(i).object().number("id").intValue());
+            assertEquals("record " + i, elements.get(i).object().string("name"));
+        }
+    }
+
+    @Test
+    void testPrettyDumperRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new NdjsonWriter(new ByteArrayOutputStream(), new JsonDumper().setPretty(true)));
+    }
+
+}
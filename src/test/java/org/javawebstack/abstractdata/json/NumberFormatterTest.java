@@ -0,0 +1,87 @@
+package org.javawebstack.abstractdata.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberFormatterTest {
+
+    private final NumberFormatter formatter = new NumberFormatter();
+
+    @Test
+    void testLongs() throws IOException {
+        for(long value : new long[]{ 0, 7, -7, 10, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE })
+            assertEquals(Long.toString(value), format(value));
+    }
+
+    @Test
+    void testDoubles() throws IOException {
+        double[] samples = { 0.0, -0.0, 1.0, 1.5, 100.0, 1e7, 1234567.0, 0.001, 1.0E-4, 2e-3, 2e23, 1e22, 5e-324, Double.MIN_NORMAL, Double.MAX_VALUE, 0.1 + 0.2, Double.NaN, Double.POSITIVE_INFINITY };
+        for(double value : samples)
+            assertDouble(value);
+        assertEquals("0.002", format(2e-3));
+        assertEquals("2.0E23", format(2e23));
+        Random random = new Random(7);
+        for(int i=0; i<200000; i++) {
+            assertDouble(Double.longBitsToDouble(random.nextLong()));
+            assertDouble(random.nextInt(100000000) / 1000.0);
+        }
+    }
+
+    @Test
+    void testFloats() throws IOException {
+        float[] samples = { 0f, -0f, 1f, 1.5f, 0.1f, 1e7f, 1.0E-10f, Float.MIN_VALUE, Float.MIN_NORMAL, Float.MAX_VALUE, 3.4028235e38f, 8.41E21f };
+        for(float value : samples)
+            assertFloat(value);
+        Random random = new Random(7);
+        for(int i=0; i<200000; i++)
+            assertFloat(Float.intBitsToFloat(random.nextInt()));
+    }
+
+    private void assertDouble(double value) throws IOException {
+        String text = format(value);
+        String expected = Double.toString(value);
+        if(Double.isNaN(value) || Double.isInfinite(value)) {
+            assertEquals(expected, text);
+            return;
+        }
+        assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(Double.parseDouble(text)), text);
+        assertTrue(digits(text) <= digits(expected), text + " vs " + expected);
+        assertEquals(expected.contains("E"), text.contains("E"), text + " vs " + expected);
+    }
+
+    private void assertFloat(float value) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        formatter.writeFloat(value, sb);
+        String text = sb.toString();
+        String expected = Float.toString(value);
+        if(Float.isNaN(value) || Float.isInfinite(value)) {
+            assertEquals(expected, text);
+            return;
+        }
+        assertEquals(Float.floatToIntBits(value), Float.floatToIntBits(Float.parseFloat(text)), text);
+        assertTrue(digits(text) <= digits(expected), text + " vs " + expected);
+    }
+
+    private String format(long value) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        formatter.writeLong(value, sb);
+        return sb.toString();
+    }
+
+    private String format(double value) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        formatter.writeDouble(value, sb);
+        return sb.toString();
+    }
+
+    private static int digits(String text) {
+        String mantissa = text.split("E")[0].replace("-", "").replace(".", "");
+        mantissa = mantissa.replaceAll("^0+", "").replaceAll("0+$", "");
+        return mantissa.length();
+    }
+
+}
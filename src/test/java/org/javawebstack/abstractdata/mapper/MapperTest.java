@@ -0,0 +1,155 @@
+package org.javawebstack.abstractdata.mapper;
+
+import org.javawebstack.abstractdata.AbstractElement;
+import org.javawebstack.abstractdata.AbstractObject;
+import org.javawebstack.abstractdata.AbstractPrimitive;
+import org.javawebstack.abstractdata.json.JsonParser;
+import org.javawebstack.abstractdata.mapper.annotation.Additional;
+import org.javawebstack.abstractdata.mapper.annotation.MapperOptions;
+import org.javawebstack.abstractdata.mapper.exception.MapperException;
+import org.javawebstack.abstractdata.mapper.naming.NamingPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapperTest {
+
+    @Test
+    void testWriteJsonMatchesMap() throws IOException {
+        Item item = new Item();
+        item.itemName = "first \"item\"";
+        item.count = 3;
+        item.price = 1.25;
+        item.tags = Arrays.asList("a", null, "c");
+        item.attributes = new LinkedHashMap<>();
+        item.attributes.put("x", 1L);
+        item.attributes.put("y", Collections.singletonMap("z", true));
+        item.kind = Kind.SMALL;
+        item.id = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        item.children = new Item[]{ new Item(), null };
+        item.raw = new AbstractObject().set("k", "v");
+        item.upper = "value";
+        item.additional = new AbstractObject().set("extra", 5).set("countValue", "replaced");
+
+        for(Mapper mapper : new Mapper[]{ new Mapper(), new Mapper().omitNull(false), new Mapper().namingPolicy(NamingPolicy.SNAKE_CASE) }) {
+            String expected = mapper.map(item).toJsonString();
+            StringBuilder sb = new StringBuilder();
+            mapper.writeJson(item, sb);
+            assertEquals(expected, sb.toString());
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            mapper.writeJson(item, stream);
+            assertEquals(expected, new String(stream.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testWriteJsonAdapterFailure() throws IOException {
+        boolean[] closed = new boolean[1];
+        ByteArrayOutputStream stream = new ByteArrayOutputStream() {
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        Mapper mapper = new Mapper().adapter(Item.class, new UpperCaseAdapter() {
+            public AbstractElement toAbstract(MapperContext context, Object value) throws MapperException {
+                throw new MapperException("failed");
+            }
+        });
+        assertThrows(MapperException.class, () -> mapper.writeJson(new Item(), stream));
+        assertFalse(closed[0]);
+        mapper.writeJson(Collections.singletonMap("a", 1), stream);
+        assertEquals("{\"a\":1}", new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testReadJsonMatchesMap() throws IOException, ParseException {
+        for(Mapper mapper : new Mapper[]{ new Mapper(), new Mapper().omitNull(false), new Mapper().namingPolicy(NamingPolicy.SNAKE_CASE) }) {
+            String json = mapper.map(createReadableItem()).toJsonString();
+            String expected = mapper.map(mapper.map(new JsonParser().parse(json), Item.class)).toJsonString();
+            assertEquals(expected, mapper.map(mapper.readJson(json, Item.class)).toJsonString());
+            assertEquals(expected, mapper.map(mapper.readJson(new StringReader(json), Item.class)).toJsonString());
+            assertEquals(expected, mapper.map(mapper.readJson(json.getBytes(StandardCharsets.UTF_8), Item.class)).toJsonString());
+        }
+        Item item = new Mapper().readJson("{\"countValue\":\"7\",\"price\":2,\"unknown\":{\"a\":[1]},\"secret\":\"x\",\"upper\":\"ABC\"}", Item.class);
+        assertEquals(7, item.count);
+        assertEquals(2.0, item.price);
+        assertEquals("hidden", item.secret);
+        assertEquals("abc", item.upper);
+        assertEquals("{\"unknown\":{\"a\":[1]}}", item.additional.toJsonString());
+        assertThrows(MapperException.class, () -> new Mapper().readJson("{\"kind\":\"LARGE\"}", Item.class));
+    }
+
+    private static Item createReadableItem() {
+        Item item = new Item();
+        item.itemName = "first \"item\"";
+        item.count = 3;
+        item.price = 1.25;
+        item.tags = Arrays.asList("a", null, "c");
+        item.attributes = new LinkedHashMap<>();
+        item.attributes.put("x", 1L);
+        item.attributes.put("y", 2.5);
+        item.kind = Kind.SMALL;
+        item.id = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        item.children = new Item[]{ new Item(), null };
+        item.raw = new AbstractObject().set("k", "v");
+        item.upper = "value";
+        item.counts = new LinkedHashMap<>();
+        item.counts.put("one", 1);
+        item.ids = new long[]{ 1, 2 };
+        item.additional = new AbstractObject().set("extra", 5).set("countValue", 4);
+        return item;
+    }
+
+    enum Kind {
+        SMALL
+    }
+
+    static class Item {
+
+        @MapperOptions(order = -1)
+        String itemName;
+        @MapperOptions(name = "countValue")
+        int count;
+        Double price;
+        @MapperOptions(generic = String.class)
+        List<String> tags;
+        Map<String, Object> attributes;
+        @MapperOptions(generic = { String.class, Integer.class })
+        Map<String, Integer> counts;
+        long[] ids;
+        Kind kind;
+        UUID id;
+        Item[] children;
+        AbstractElement raw;
+        @MapperOptions(omitNull = false)
+        String missing;
+        @MapperOptions(hidden = true)
+        String secret = "hidden";
+        transient String temporary = "hidden";
+        @MapperOptions(adapter = UpperCaseAdapter.class)
+        String upper;
+        @Additional
+        AbstractObject additional;
+
+    }
+
+    public static class UpperCaseAdapter implements MapperTypeAdapter {
+
+        public AbstractElement toAbstract(MapperContext context, Object value) throws MapperException {
+            return new AbstractPrimitive(value.toString().toUpperCase(Locale.ROOT));
+        }
+
+        public Object fromAbstract(MapperContext context, AbstractElement element, Class<?> type) throws MapperException {
+            return element.string().toLowerCase(Locale.ROOT);
+        }
+
+    }
+
+}